@@ -0,0 +1,96 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selecting a value {@code depth} nodes deep, from a plain {@link JsonMap} and from an {@link IndexedJsonMap} over the same data
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class IndexedJsonMapBenchmark
+{
+
+    @Param({"2", "4", "8", "16"})
+    public int depth;
+
+    private JsonMap        plain;
+    private IndexedJsonMap indexed;
+    private Pxth           pxth;
+    private JsonElement    value;
+
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        final var path = new String[this.depth];
+
+        for (int i = 0; i < path.length; i++)
+        {
+            path[i] = "node" + i;
+        }
+
+        this.pxth    = Pxth.of(path);
+        this.value   = new JsonPrimitive(42L);
+        this.plain   = JsonMap.create();
+        this.indexed = IndexedJsonMap.of(JsonMap.create());
+
+        // a few siblings at every level, so each step is a real lookup
+        for (int i = 1; i <= this.depth; i++)
+        {
+            for (int j = 0; j < 8; j++)
+            {
+                final var sibling = new String[i];
+                System.arraycopy(path, 0, sibling, 0, i - 1);
+                sibling[i - 1] = "other" + j;
+
+                this.plain.insert(Pxth.of(sibling), new JsonPrimitive(j));
+                this.indexed.insert(Pxth.of(sibling), new JsonPrimitive(j));
+            }
+        }
+
+        this.plain.insert(this.pxth, this.value);
+        this.indexed.insert(this.pxth, this.value);
+    }
+
+
+    @Benchmark
+    public JsonElement selectPlain()
+    {
+        return this.plain.select(this.pxth);
+    }
+
+    @Benchmark
+    public JsonElement selectIndexed()
+    {
+        return this.indexed.select(this.pxth);
+    }
+
+    @Benchmark
+    public JsonElement insertThenSelectIndexed()
+    {
+        this.indexed.insert(this.pxth, this.value);
+        return this.indexed.select(this.pxth);
+    }
+
+}
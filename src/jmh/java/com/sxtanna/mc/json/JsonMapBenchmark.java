@@ -0,0 +1,145 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot paths of {@link JsonMap}, over documents of {@code size} top level sections, each holding a nested object and an array
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class JsonMapBenchmark
+{
+
+    private static final Pxth SHALLOW = Pxth.of("section0");
+    private static final Pxth DEEP    = Pxth.of("section0.stats.time.played");
+    private static final Pxth INDEXED = Pxth.of("section0.items.7");
+    private static final Pxth CREATED = Pxth.of("section0.created.nested.value");
+
+    private static final JsonKey<Long> TYPED  = JsonKey.of(DEEP, Long.class);
+    private static final JsonKey<Long> DIRECT = JsonKey.of(DEEP, Long.class, JsonPrimitive::new, json -> json.isJsonNull() ? null : json.getAsLong());
+
+
+    @Param({"16", "256", "4096"})
+    public int size;
+
+    private JsonMap          map;
+    private JsonElement      value;
+    private JsonHandle<Long> bound;
+
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.map   = JsonMap.create();
+        this.value = new JsonPrimitive(42L);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            final var items = new JsonArray();
+            for (int j = 0; j < 16; j++)
+            {
+                items.add(j);
+            }
+
+            this.map.insert(Pxth.of("section" + i, "stats", "time", "played"), new JsonPrimitive((long) i));
+            this.map.insert(Pxth.of("section" + i, "stats", "kills"), new JsonPrimitive(i));
+            this.map.insert(Pxth.of("section" + i, "items"), items);
+        }
+
+        this.bound = DIRECT.bind(this.map);
+    }
+
+
+    @Benchmark
+    public JsonElement selectShallow()
+    {
+        return this.map.select(SHALLOW);
+    }
+
+    @Benchmark
+    public JsonElement selectDeep()
+    {
+        return this.map.select(DEEP);
+    }
+
+    @Benchmark
+    public JsonElement selectIndexed()
+    {
+        return this.map.select(INDEXED);
+    }
+
+    @Benchmark
+    public Long selectKeyGson()
+    {
+        return this.map.select(TYPED, JsonMap.GSON);
+    }
+
+    @Benchmark
+    public Long selectKeyDirect()
+    {
+        return this.map.select(DIRECT, JsonMap.GSON);
+    }
+
+    @Benchmark
+    public Long selectKeyBound()
+    {
+        return this.bound.select(JsonMap.GSON);
+    }
+
+    @Benchmark
+    public long selectLong()
+    {
+        return this.map.selectLong(DEEP, 0L);
+    }
+
+    @Benchmark
+    public long increment()
+    {
+        return this.map.increment(DEEP, 1L);
+    }
+
+    @Benchmark
+    public JsonElement insertExisting()
+    {
+        return this.map.insert(DEEP, this.value);
+    }
+
+    @Benchmark
+    public JsonElement insertIndexed()
+    {
+        return this.map.insert(INDEXED, this.value);
+    }
+
+    /**
+     * Removes the created path again, so every invocation creates the intermediate objects anew
+     */
+    @Benchmark
+    public JsonElement insertCreating()
+    {
+        this.map.insert(CREATED, this.value);
+        return this.map.remove(Pxth.of("section0", "created"));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.sxtanna.mc.json.pxth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing {@link Pxth}s of {@code depth} nodes, both repeated paths served by the pool and distinct paths that are not
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PxthBenchmark
+{
+
+    @Param({"2", "8"})
+    public int depth;
+
+    private String   repeated;
+    private String[] distinct;
+    private int      next;
+
+
+    @Setup
+    public void setup()
+    {
+        this.repeated = path(this.depth, "node");
+        this.distinct = new String[Pxth.INTERN_LIMIT * 4];
+
+        for (int i = 0; i < this.distinct.length; i++)
+        {
+            this.distinct[i] = path(this.depth, "node" + i);
+        }
+    }
+
+
+    @Benchmark
+    public Pxth parseRepeated()
+    {
+        return Pxth.of(this.repeated);
+    }
+
+    @Benchmark
+    public Pxth parseDistinct()
+    {
+        final var path = this.distinct[this.next];
+        this.next = (this.next + 1) % this.distinct.length;
+
+        return Pxth.of(path);
+    }
+
+
+    private static String path(final int depth, final String name)
+    {
+        final var path = new StringBuilder(name);
+
+        for (int i = 1; i < depth; i++)
+        {
+            path.append('.').append(name).append('_').append(i);
+        }
+
+        return path.toString();
+    }
+
+}
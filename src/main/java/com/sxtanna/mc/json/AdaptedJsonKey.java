@@ -0,0 +1,72 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+
+/**
+ * A {@link JsonKey} that remembers the {@link TypeAdapter} resolved for the last {@link Gson} it was used with
+ */
+final class AdaptedJsonKey<T> implements JsonKey<T>
+{
+
+    @NotNull
+    private final Pxth pxth;
+    @NotNull
+    private final Type type;
+
+    @Nullable
+    private volatile Adapted<T> adapted;
+
+
+    AdaptedJsonKey(@NotNull final Pxth pxth, @NotNull final Type type)
+    {
+        this.pxth = pxth;
+        this.type = type;
+    }
+
+
+    @Override
+    public @NotNull Pxth pxth()
+    {
+        return this.pxth;
+    }
+
+    @Override
+    public @NotNull Type type()
+    {
+        return this.type;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull TypeAdapter<T> adapter(@NotNull final Gson gson)
+    {
+        final var adapted = this.adapted;
+        if (adapted != null && adapted.gson() == gson)
+        {
+            return adapted.adapter();
+        }
+
+        // a different gson instance (ie. FALLBACK_GSON_REF was swapped) simply replaces the cached adapter
+        final var adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(this.type));
+        this.adapted = new Adapted<>(gson, adapter);
+
+        return adapter;
+    }
+
+
+    private record Adapted<T>(@NotNull Gson gson, @NotNull TypeAdapter<T> adapter)
+    {
+
+    }
+
+}
@@ -0,0 +1,449 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JsonMap} that memoizes the values decoded by {@link JsonMap#select(JsonKey, Gson, Consumer)}
+ * <ul>
+ *   <li>Any {@link JsonMap#insert(Pxth, JsonElement)}, {@link JsonMap#remove(Pxth)}, or {@link JsonMap#increment(Pxth, long)} on a key's path, an ancestor, or a descendant of it invalidates that key.</li>
+ *   <li>Increments, transactions, diffs, and the version are forwarded to the delegate, so they keep its guarantees, ie. atomic increments and buffered transactions.</li>
+ *   <li>Decoded values are shared between reads, they should be treated as read only.</li>
+ *   <li>Like {@link JsonMap#create()}, this map is not thread safe.</li>
+ * </ul>
+ *
+ * @see CachingJsonMap#of(JsonMap)
+ * @see CachingJsonMap#of(JsonMap, int, Eviction)
+ */
+@AvailableSince("1.2.0")
+public final class CachingJsonMap implements JsonMap
+{
+
+    /**
+     * The default maximum amount of decoded values retained
+     */
+    @AvailableSince("1.2.0")
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+
+    @NotNull
+    private final JsonMap                  delegate;
+    @NotNull
+    private final Map<JsonKey<?>, Decoded> decoded;
+    /**
+     * The decoded keys by path, linked into the branches of their ancestors, so a write only visits the paths overlapping it
+     */
+    @NotNull
+    private final Map<Pxth, Branch>        index = new HashMap<>();
+
+
+    private CachingJsonMap(@NotNull final JsonMap delegate, final int maximumSize, @NotNull final Eviction eviction)
+    {
+        if (maximumSize <= 0)
+        {
+            throw new IllegalArgumentException("maximum size must be positive: " + maximumSize);
+        }
+
+        this.delegate = delegate;
+        this.decoded = new LinkedHashMap<>(16, 0.75f, eviction == Eviction.LRU)
+        {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<JsonKey<?>, Decoded> eldest)
+            {
+                if (size() <= maximumSize)
+                {
+                    return false;
+                }
+
+                unlink(eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.delegate.data();
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        return this.delegate.select(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        invalidate(pxth);
+        return this.delegate.remove(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        invalidate(pxth);
+        return this.delegate.insert(pxth, data);
+    }
+
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        for (final var op : batch.ops())
+        {
+            invalidate(op.pxth());
+        }
+
+        return this.delegate.apply(batch).bind(this);
+    }
+
+    @Override
+    public @NotNull JsonBatch diff(@NotNull final JsonMap other)
+    {
+        return this.delegate.diff(other).bind(this);
+    }
+
+    /**
+     * The transaction runs on the delegate, so it keeps the delegate's guarantees, every decoded value is dropped once it ends
+     */
+    @Override
+    public boolean transaction(@NotNull final Consumer<JsonTransaction> body)
+    {
+        try
+        {
+            return this.delegate.transaction(body);
+        }
+        finally
+        {
+            invalidate();
+        }
+    }
+
+    @Override
+    public long version()
+    {
+        return this.delegate.version();
+    }
+
+
+    @Override
+    public @NotNull JsonMap snapshot()
+    {
+        return this.delegate.snapshot();
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        invalidate();
+        this.delegate.restore(snapshot);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return this.delegate.dirtyPaths();
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return this.delegate.isDirty();
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        this.delegate.clearDirty();
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        this.delegate.markDirty(paths);
+    }
+
+    @Override
+    public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return this.delegate.save(writer, gson, exceptionHandler);
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T select(@NotNull final JsonKey<T> jKey, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var cached = this.decoded.get(jKey);
+        if (cached != null && cached.gson() == gson)
+        {
+            return (T) cached.value();
+        }
+
+        final var failed = new boolean[1];
+
+        final var value = JsonMap.super.select(jKey, gson, ex ->
+        {
+            failed[0] = true;
+            exceptionHandler.accept(ex);
+        });
+
+        if (!failed[0] && this.decoded.put(jKey, new Decoded(gson, value)) == null)
+        {
+            link(jKey);
+        }
+
+        return value;
+    }
+
+
+    @Override
+    public long increment(@NotNull final Pxth pxth, final long delta)
+    {
+        final var next = this.delegate.increment(pxth, delta);
+        invalidate(pxth);
+
+        return next;
+    }
+
+
+    /**
+     * Drop every decoded value whose path overlaps the provided path
+     *
+     * @param pxth The path that was changed
+     */
+    @AvailableSince("1.2.0")
+    public void invalidate(@NotNull final Pxth pxth)
+    {
+        if (this.decoded.isEmpty())
+        {
+            return;
+        }
+
+        if (pxth.isEmpty())
+        {
+            invalidate();
+            return;
+        }
+
+        // every decoded path overlapping this one shares its first node
+        if (!this.index.containsKey(pxth.size() == 1 ? pxth : new Pxth(pxth.path().subList(0, 1))))
+        {
+            return;
+        }
+
+        for (int i = 1; i < pxth.size(); i++)
+        {
+            final var above  = new Pxth(pxth.path().subList(0, i));
+            final var branch = this.index.get(above);
+
+            if (branch != null && !branch.keys.isEmpty())
+            {
+                branch.keys.forEach(this.decoded::remove);
+                branch.keys.clear();
+
+                tidy(above, branch);
+            }
+        }
+
+        if (drop(pxth))
+        {
+            prune(pxth);
+        }
+    }
+
+    /**
+     * Drop every decoded value
+     */
+    @AvailableSince("1.2.0")
+    public void invalidate()
+    {
+        this.decoded.clear();
+        this.index.clear();
+    }
+
+
+    /**
+     * Index the provided key, and link its path into the branches of its ancestors so it can be dropped along with them
+     */
+    private void link(@NotNull final JsonKey<?> jKey)
+    {
+        final var pxth = jKey.pxth();
+
+        this.index.computeIfAbsent(pxth, key -> new Branch()).keys.add(jKey);
+
+        var child = pxth;
+
+        for (int i = pxth.size() - 1; i > 0; i--)
+        {
+            final var parent = new Pxth(pxth.path().subList(0, i));
+
+            if (!this.index.computeIfAbsent(parent, key -> new Branch()).below.add(child))
+            {
+                // the parent was already linked, and so are its own ancestors
+                break;
+            }
+
+            child = parent;
+        }
+    }
+
+    /**
+     * Remove the provided key from the index, once it has been evicted
+     */
+    private void unlink(@NotNull final JsonKey<?> jKey)
+    {
+        final var branch = this.index.get(jKey.pxth());
+
+        if (branch != null && branch.keys.remove(jKey))
+        {
+            tidy(jKey.pxth(), branch);
+        }
+    }
+
+    /**
+     * Drop the decoded values at the provided path and beneath it, along with their branches
+     *
+     * @return True if the path was indexed
+     */
+    private boolean drop(@NotNull final Pxth pxth)
+    {
+        final var branch = this.index.remove(pxth);
+        if (branch == null)
+        {
+            return false;
+        }
+
+        branch.keys.forEach(this.decoded::remove);
+
+        for (final var below : branch.below)
+        {
+            drop(below);
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove the branch at the provided path if nothing is indexed at or beneath it anymore
+     */
+    private void tidy(@NotNull final Pxth pxth, @NotNull final Branch branch)
+    {
+        if (branch.keys.isEmpty() && branch.below.isEmpty())
+        {
+            this.index.remove(pxth);
+            prune(pxth);
+        }
+    }
+
+    /**
+     * Unlink the provided path, whose branch was removed, from its ancestors, removing those left empty
+     */
+    private void prune(@NotNull final Pxth pxth)
+    {
+        var child = pxth;
+
+        for (int i = pxth.size() - 1; i > 0; i--)
+        {
+            final var parent = new Pxth(pxth.path().subList(0, i));
+            final var branch = this.index.get(parent);
+
+            if (branch == null)
+            {
+                return;
+            }
+
+            branch.below.remove(child);
+
+            if (!branch.keys.isEmpty() || !branch.below.isEmpty())
+            {
+                return;
+            }
+
+            this.index.remove(parent);
+            child = parent;
+        }
+    }
+
+
+    /**
+     * @return The new {@link CachingJsonMap} wrapping the provided map, retaining up to {@link CachingJsonMap#DEFAULT_MAXIMUM_SIZE} values
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull CachingJsonMap of(@NotNull final JsonMap delegate)
+    {
+        return of(delegate, DEFAULT_MAXIMUM_SIZE, Eviction.LRU);
+    }
+
+    /**
+     * @param delegate    The map that holds the actual data
+     * @param maximumSize The maximum amount of decoded values retained
+     * @param eviction    The policy used to choose which value is dropped when the cache is full
+     * @return The new {@link CachingJsonMap} wrapping the provided map
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_, _, _ -> new", pure = true)
+    public static @NotNull CachingJsonMap of(@NotNull final JsonMap delegate, final int maximumSize, @NotNull final Eviction eviction)
+    {
+        return new CachingJsonMap(delegate, maximumSize, eviction);
+    }
+
+
+    /**
+     * The policy used to choose which decoded value is dropped once the cache is full
+     */
+    @AvailableSince("1.2.0")
+    public enum Eviction
+    {
+        /**
+         * Drop the value that was read least recently
+         */
+        LRU,
+        /**
+         * Drop the value that was decoded first
+         */
+        FIFO,
+    }
+
+
+    private record Decoded(@NotNull Gson gson, @Nullable Object value)
+    {
+
+    }
+
+    private static final class Branch
+    {
+
+        /**
+         * The decoded keys at this path
+         */
+        @NotNull
+        private final Set<JsonKey<?>> keys  = new HashSet<>();
+        @NotNull
+        private final Set<Pxth>       below = new HashSet<>();
+
+    }
+
+}
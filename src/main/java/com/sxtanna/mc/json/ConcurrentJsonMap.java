@@ -0,0 +1,652 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread safe {@link JsonMap} that guards each top level key with one of a fixed set of striped locks
+ * <ul>
+ *   <li>Reads and writes to different top level keys will usually run in parallel, reads of the same top level key always will.</li>
+ *   <li>Containers returned by {@link ConcurrentJsonMap#select(Pxth)} are copies, so they are safe to inspect while other threads write.</li>
+ *   <li>{@link ConcurrentJsonMap#data()} bypasses the locks, it should not be used for anything but reading.</li>
+ * </ul>
+ *
+ * @see ConcurrentJsonMap#create()
+ * @see ConcurrentJsonMap#create(int)
+ */
+@AvailableSince("1.2.0")
+public final class ConcurrentJsonMap implements JsonMap
+{
+
+    /**
+     * The default amount of lock stripes
+     */
+    @AvailableSince("1.2.0")
+    public static final int DEFAULT_STRIPES = 16;
+
+
+    @NotNull
+    private final Map<String, JsonElement> data = new ConcurrentHashMap<>();
+    @NotNull
+    private final ReadWriteLock[]          locks;
+    /**
+     * Guarded by its own monitor, since writers to different stripes record into it concurrently
+     */
+    @NotNull
+    private final PxthSet                  dirty = new PxthSet();
+    /**
+     * The amount of writes made under each lock stripe, only incremented while holding that stripe's write lock
+     */
+    @NotNull
+    private final AtomicLongArray          versions;
+
+
+    private ConcurrentJsonMap(final int stripes)
+    {
+        if (stripes <= 0)
+        {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+
+        this.locks = new ReadWriteLock[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+
+        for (int i = 0; i < this.locks.length; i++)
+        {
+            this.locks[i] = new ReentrantReadWriteLock();
+        }
+
+        this.versions = new AtomicLongArray(this.locks.length);
+    }
+
+
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.data;
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var lock = lock(pxth).readLock();
+        lock.lock();
+
+        try
+        {
+            final var json = JsonMap.super.select(pxth);
+            return json.isJsonObject() || json.isJsonArray() ? json.deepCopy() : json;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var lock = lock(pxth).writeLock();
+        lock.lock();
+
+        try
+        {
+            dirty(pxth);
+            return JsonMap.super.remove(pxth);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var lock = lock(pxth).writeLock();
+        lock.lock();
+
+        try
+        {
+            dirty(pxth);
+            return JsonMap.super.insert(pxth, data);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Applies the whole batch while holding the write lock of every stripe it touches, so other threads see all of it or none of it
+     */
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        final var stripes = new boolean[this.locks.length];
+
+        for (final var op : batch.ops())
+        {
+            if (!op.pxth().isEmpty())
+            {
+                stripes[stripe(op.pxth())] = true;
+            }
+        }
+
+        // always in index order, so two batches can never wait on each other
+        for (int i = 0; i < stripes.length; i++)
+        {
+            if (stripes[i])
+            {
+                this.locks[i].writeLock().lock();
+            }
+        }
+
+        try
+        {
+            for (final var op : batch.ops())
+            {
+                dirty(op.pxth());
+            }
+
+            return JsonMap.super.apply(batch);
+        }
+        finally
+        {
+            for (int i = stripes.length - 1; i >= 0; i--)
+            {
+                if (stripes[i])
+                {
+                    this.locks[i].writeLock().unlock();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Runs the body against private copies of the top level keys it touches, recording the version of each key's stripe as it is copied
+     * <p>
+     * No lock is held while the body runs, and if a key is copied after another thread changed a key copied earlier, the body is restarted
+     * immediately, so it never sees a mix of versions. On commit the write locks of the touched stripes are taken, and if none of their versions
+     * have changed every write is applied at once, otherwise the body runs again against fresh copies.
+     */
+    @Override
+    public boolean transaction(@NotNull final Consumer<JsonTransaction> body)
+    {
+        while (true)
+        {
+            final var scratch = new Scratch();
+            final var log     = new JsonBatch(scratch, true);
+            final var tx      = new JsonTransaction(scratch, log);
+
+            try
+            {
+                body.accept(tx);
+            }
+            catch (final Conflict ignored)
+            {
+                continue;
+            }
+
+            if (tx.isRollback())
+            {
+                return false;
+            }
+
+            final var write = !log.isEmpty();
+
+            for (int i = 0; i < scratch.seen.length; i++)
+            {
+                if (scratch.seen[i] >= 0)
+                {
+                    (write ? this.locks[i].writeLock() : this.locks[i].readLock()).lock();
+                }
+            }
+
+            try
+            {
+                if (!scratch.valid())
+                {
+                    continue;
+                }
+
+                if (write)
+                {
+                    for (final var op : log.ops())
+                    {
+                        if (!op.pxth().isEmpty())
+                        {
+                            dirty(op.pxth());
+                        }
+                    }
+
+                    JsonMap.super.apply(log);
+                }
+
+                return true;
+            }
+            finally
+            {
+                for (int i = scratch.seen.length - 1; i >= 0; i--)
+                {
+                    if (scratch.seen[i] >= 0)
+                    {
+                        (write ? this.locks[i].writeLock() : this.locks[i].readLock()).unlock();
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Copies every element while holding all read locks, so the snapshot is consistent across top level keys
+     */
+    @Override
+    public @NotNull JsonMap snapshot()
+    {
+        lockAll(false);
+
+        try
+        {
+            return JsonMap.super.snapshot();
+        }
+        finally
+        {
+            unlockAll(false);
+        }
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        lockAll(true);
+
+        try
+        {
+            dirty(Pxth.NONE);
+            JsonMap.super.restore(snapshot);
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+
+    /**
+     * Writes while holding all read locks, so the saved object is consistent across top level keys without copying it first
+     */
+    @Override
+    public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        lockAll(false);
+
+        try
+        {
+            return JsonMap.super.save(writer, gson, exceptionHandler);
+        }
+        finally
+        {
+            unlockAll(false);
+        }
+    }
+
+
+    /**
+     * Compares while holding all read locks, another {@link ConcurrentJsonMap} is snapshot first
+     */
+    @Override
+    public @NotNull JsonBatch diff(@NotNull final JsonMap other)
+    {
+        final var that = other instanceof ConcurrentJsonMap ? other.snapshot() : other;
+
+        lockAll(false);
+
+        try
+        {
+            return JsonBatch.diff(this, this.data, that.data());
+        }
+        finally
+        {
+            unlockAll(false);
+        }
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        synchronized (this.dirty)
+        {
+            return Collections.unmodifiableSet(new PxthSet(this.dirty));
+        }
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        synchronized (this.dirty)
+        {
+            return !this.dirty.isEmpty();
+        }
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        synchronized (this.dirty)
+        {
+            this.dirty.clear();
+        }
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        synchronized (this.dirty)
+        {
+            this.dirty.addAll(paths);
+        }
+    }
+
+
+    /**
+     * Atomically replace the value stored at the provided path
+     *
+     * @param pxth     The path of the value
+     * @param function The function producing the new value from the current one, which is {@link JsonNull#INSTANCE} if absent,
+     *                 returning {@link JsonNull#INSTANCE} removes the value
+     * @return The value now stored at the provided path, or {@link JsonNull#INSTANCE} if it was removed
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement compute(@NotNull final Pxth pxth, @NotNull final UnaryOperator<JsonElement> function)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var lock = lock(pxth).writeLock();
+        lock.lock();
+
+        try
+        {
+            final var next = function.apply(JsonMap.super.select(pxth));
+
+            dirty(pxth);
+
+            if (next == null || next.isJsonNull())
+            {
+                JsonMap.super.remove(pxth);
+                return JsonNull.INSTANCE;
+            }
+
+            JsonMap.super.insert(pxth, next);
+            return next;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Atomically add the provided delta to the number stored at the provided path, under the write lock of its stripe
+     *
+     * @see JsonMap#increment(Pxth, long)
+     */
+    @Override
+    public long increment(@NotNull final Pxth pxth, final long delta)
+    {
+        return compute(pxth, prev -> new JsonPrimitive((prev.isJsonPrimitive() && prev.getAsJsonPrimitive().isNumber() ? prev.getAsLong() : 0L) + delta)).getAsLong();
+    }
+
+
+    /**
+     * Record a write to the provided path, while holding the write lock of its stripe, or of every stripe for the root
+     */
+    private void dirty(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            for (int i = 0; i < this.versions.length(); i++)
+            {
+                this.versions.incrementAndGet(i);
+            }
+        }
+        else
+        {
+            this.versions.incrementAndGet(stripe(pxth));
+        }
+
+        synchronized (this.dirty)
+        {
+            this.dirty.add(pxth);
+        }
+    }
+
+    private void lockAll(final boolean write)
+    {
+        for (final var lock : this.locks)
+        {
+            (write ? lock.writeLock() : lock.readLock()).lock();
+        }
+    }
+
+    private void unlockAll(final boolean write)
+    {
+        for (int i = this.locks.length - 1; i >= 0; i--)
+        {
+            (write ? this.locks[i].writeLock() : this.locks[i].readLock()).unlock();
+        }
+    }
+
+    private @NotNull ReadWriteLock lock(@NotNull final Pxth pxth)
+    {
+        return this.locks[stripe(pxth)];
+    }
+
+    private int stripe(@NotNull final Pxth pxth)
+    {
+        return stripe(pxth.node(0).name());
+    }
+
+    private int stripe(@NotNull final String name)
+    {
+        final var hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & (this.locks.length - 1);
+    }
+
+
+    /**
+     * @return The new {@link ConcurrentJsonMap} using {@link ConcurrentJsonMap#DEFAULT_STRIPES} locks
+     */
+    @AvailableSince("1.2.0")
+    @Contract(" -> new")
+    public static @NotNull ConcurrentJsonMap create()
+    {
+        return create(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes The amount of locks to spread top level keys across, rounded up to a power of two
+     * @return The new {@link ConcurrentJsonMap}
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    public static @NotNull ConcurrentJsonMap create(final int stripes)
+    {
+        return new ConcurrentJsonMap(stripes);
+    }
+
+
+    /**
+     * The private state of a transaction, each top level key is copied from the map the first time it is touched
+     */
+    private final class Scratch implements JsonMap
+    {
+
+        @NotNull
+        private final Map<String, JsonElement> data    = new HashMap<>();
+        @NotNull
+        private final Set<String>              fetched = new HashSet<>();
+        /**
+         * The version of each stripe when it was first read from, or -1 if it has not been
+         */
+        private final long[]                   seen    = new long[ConcurrentJsonMap.this.locks.length];
+
+
+        private Scratch()
+        {
+            Arrays.fill(this.seen, -1);
+        }
+
+
+        @Override
+        public @NotNull Map<String, JsonElement> data()
+        {
+            return this.data;
+        }
+
+
+        @Override
+        public @NotNull JsonElement select(@NotNull final Pxth pxth)
+        {
+            fetch(pxth);
+            return JsonMap.super.select(pxth);
+        }
+
+        @Override
+        public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+        {
+            fetch(pxth);
+            return JsonMap.super.remove(pxth);
+        }
+
+        @Override
+        public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+        {
+            fetch(pxth);
+            return JsonMap.super.insert(pxth, data);
+        }
+
+
+        /**
+         * @return True if no stripe read from has been written to since
+         */
+        private boolean valid()
+        {
+            for (int i = 0; i < this.seen.length; i++)
+            {
+                if (this.seen[i] >= 0 && this.seen[i] != ConcurrentJsonMap.this.versions.get(i))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void fetch(@NotNull final Pxth pxth)
+        {
+            if (pxth.isEmpty() || !this.fetched.add(pxth.node(0).name()))
+            {
+                return;
+            }
+
+            final var name   = pxth.node(0).name();
+            final var stripe = stripe(name);
+            final var lock   = ConcurrentJsonMap.this.locks[stripe].readLock();
+
+            lock.lock();
+
+            try
+            {
+                if (this.seen[stripe] < 0)
+                {
+                    this.seen[stripe] = ConcurrentJsonMap.this.versions.get(stripe);
+                }
+
+                final var json = ConcurrentJsonMap.this.data.get(name);
+                if (json != null)
+                {
+                    this.data.put(name, json.deepCopy());
+                }
+
+                // writers bump every version they touch before releasing their locks, so any write overlapping this copy is visible here
+                if (!valid())
+                {
+                    throw Conflict.INSTANCE;
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+    }
+
+    /**
+     * Thrown out of a transaction body to restart it, once it has read keys from different versions
+     */
+    private static final class Conflict extends RuntimeException
+    {
+
+        private static final long     serialVersionUID = 1L;
+
+        private static final Conflict INSTANCE         = new Conflict();
+
+
+        private Conflict()
+        {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
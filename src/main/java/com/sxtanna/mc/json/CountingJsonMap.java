@@ -0,0 +1,304 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JsonMap} that backs numeric leaves with {@link LongAdder} cells, so concurrent increments never contend on the map
+ * <ul>
+ *   <li>{@link CountingJsonMap#add(Pxth, long)} and {@link JsonMap#increment(Pxth, long)} only touch the cell of their path, created from the current value on first use.</li>
+ *   <li>An absent or non numeric value starts at zero, a number that is not whole or does not fit a long cannot be counted, and adding to it throws.</li>
+ *   <li>Cells are written into the delegate as {@link JsonPrimitive}s only when a path overlapping them is selected, or the map is saved, snapshot, or checked for modifications.</li>
+ *   <li>Primitive selects of a counter, such as {@link JsonMap#selectLong(Pxth, long)}, read the cell directly.</li>
+ *   <li>Inserting or removing a counter, or one of its ancestors, discards its cell, additions racing with that write may be lost.</li>
+ *   <li>This map is as thread safe as its delegate, cells are always thread safe.</li>
+ * </ul>
+ *
+ * @see CountingJsonMap#of(JsonMap)
+ */
+@AvailableSince("1.2.0")
+public final class CountingJsonMap implements JsonMap
+{
+
+    @NotNull
+    private final JsonMap         delegate;
+    @NotNull
+    private final Map<Pxth, Cell> cells = new ConcurrentHashMap<>();
+
+
+    private CountingJsonMap(@NotNull final JsonMap delegate)
+    {
+        this.delegate = delegate;
+    }
+
+
+    /**
+     * @return The data of the delegate, with every counter written into it
+     */
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        materialize();
+        return this.delegate.data();
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        if (!this.cells.isEmpty())
+        {
+            for (final var entry : this.cells.entrySet())
+            {
+                if (entry.getKey().startsWith(pxth) || pxth.startsWith(entry.getKey()))
+                {
+                    write(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        return this.delegate.select(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        discard(pxth);
+        return this.delegate.remove(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        discard(pxth);
+        return this.delegate.insert(pxth, data);
+    }
+
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        for (final var op : batch.ops())
+        {
+            discard(op.pxth());
+        }
+
+        return this.delegate.apply(batch).bind(this);
+    }
+
+    /**
+     * Every counter is written and discarded first, so the transaction runs entirely on the delegate
+     */
+    @Override
+    public boolean transaction(@NotNull final Consumer<JsonTransaction> body)
+    {
+        materialize();
+        this.cells.clear();
+
+        return this.delegate.transaction(body);
+    }
+
+
+    @Override
+    public int selectInt(@NotNull final Pxth pxth, final int def)
+    {
+        final var cell = this.cells.get(pxth);
+        return cell != null ? (int) cell.adder.sum() : JsonMap.super.selectInt(pxth, def);
+    }
+
+    @Override
+    public long selectLong(@NotNull final Pxth pxth, final long def)
+    {
+        final var cell = this.cells.get(pxth);
+        return cell != null ? cell.adder.sum() : JsonMap.super.selectLong(pxth, def);
+    }
+
+    @Override
+    public double selectDouble(@NotNull final Pxth pxth, final double def)
+    {
+        final var cell = this.cells.get(pxth);
+        return cell != null ? cell.adder.sum() : JsonMap.super.selectDouble(pxth, def);
+    }
+
+    /**
+     * @return The sum of the counter after the addition, which may include additions made concurrently
+     * @throws IllegalStateException if the counter does not exist yet, and the value at the path is a number that is not whole or does not fit a long
+     */
+    @Override
+    public long increment(@NotNull final Pxth pxth, final long delta)
+    {
+        final var cell = cell(pxth);
+        cell.adder.add(delta);
+
+        return cell.adder.sum();
+    }
+
+
+    @Override
+    public @NotNull JsonMap snapshot()
+    {
+        materialize();
+        return this.delegate.snapshot();
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        this.cells.clear();
+        this.delegate.restore(snapshot);
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        materialize();
+        return this.delegate.dirtyPaths();
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        materialize();
+        return this.delegate.isDirty();
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        this.delegate.clearDirty();
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        this.delegate.markDirty(paths);
+    }
+
+    @Override
+    public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        materialize();
+        return this.delegate.save(writer, gson, exceptionHandler);
+    }
+
+
+    /**
+     * Add the provided delta to the counter at the provided path, without reading or writing the delegate once its cell exists
+     *
+     * @param pxth  The path of the counter, an absent or non numeric value starts at zero
+     * @param delta The amount to add, which may be negative
+     * @throws IllegalStateException if the counter does not exist yet, and the value at the path is a number that is not whole or does not fit a long
+     */
+    @AvailableSince("1.2.0")
+    public void add(@NotNull final Pxth pxth, final long delta)
+    {
+        cell(pxth).adder.add(delta);
+    }
+
+    /**
+     * Write the value of every counter into the delegate, counters that have not changed since their last write are skipped
+     */
+    @AvailableSince("1.2.0")
+    public void materialize()
+    {
+        for (final var entry : this.cells.entrySet())
+        {
+            write(entry.getKey(), entry.getValue());
+        }
+    }
+
+
+    private @NotNull Cell cell(@NotNull final Pxth pxth)
+    {
+        final var cell = this.cells.get(pxth);
+        return cell != null ? cell : this.cells.computeIfAbsent(pxth, this::seed);
+    }
+
+    private @NotNull Cell seed(@NotNull final Pxth pxth)
+    {
+        final var json = this.delegate.select(pxth);
+        final var cell = new Cell();
+
+        if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber())
+        {
+            try
+            {
+                cell.written = json.getAsBigDecimal().longValueExact();
+            }
+            catch (final ArithmeticException | NumberFormatException ex)
+            {
+                throw new IllegalStateException("value at " + pxth + " is not a whole number that fits a long: " + json, ex);
+            }
+
+            cell.adder.add(cell.written);
+        }
+
+        return cell;
+    }
+
+    private void write(@NotNull final Pxth pxth, @NotNull final Cell cell)
+    {
+        synchronized (cell)
+        {
+            final var sum = cell.adder.sum();
+
+            if (cell.written == null || cell.written != sum)
+            {
+                this.delegate.insert(pxth, new JsonPrimitive(sum));
+                cell.written = sum;
+            }
+        }
+    }
+
+    private void discard(@NotNull final Pxth pxth)
+    {
+        if (!this.cells.isEmpty())
+        {
+            this.cells.keySet().removeIf(counter -> counter.startsWith(pxth));
+        }
+    }
+
+
+    /**
+     * @return The new {@link CountingJsonMap} wrapping the provided map
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull CountingJsonMap of(@NotNull final JsonMap delegate)
+    {
+        return new CountingJsonMap(delegate);
+    }
+
+
+    private static final class Cell
+    {
+
+        @NotNull
+        private final LongAdder adder = new LongAdder();
+        /**
+         * The value last written into the delegate, or null if it never has been, guarded by the cell's monitor
+         */
+        @Nullable
+        private       Long      written;
+
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JsonMap} that keeps a flattened index from each selected path to its value, so selecting it again is a single lookup
+ * <ul>
+ *   <li>Only values that are present and are not containers are indexed, selecting an object, an array, or an absent path reads the delegate.</li>
+ *   <li>Any {@link JsonMap#insert(Pxth, JsonElement)} or {@link JsonMap#remove(Pxth)} drops the indexed values at that path and beneath it,
+ *   removing from an array drops every value beneath the array, as the elements after it shift.</li>
+ *   <li>Writes made through {@link JsonMap#data()}, or directly on a selected container, bypass this map and are not seen by the index.</li>
+ *   <li>Like {@link JsonMap#create()}, this map is not thread safe.</li>
+ * </ul>
+ *
+ * @see IndexedJsonMap#of(JsonMap)
+ */
+@AvailableSince("1.2.0")
+public final class IndexedJsonMap implements JsonMap
+{
+
+    @NotNull
+    private final JsonMap           delegate;
+    @NotNull
+    private final Map<Pxth, Branch> index = new HashMap<>();
+
+
+    private IndexedJsonMap(@NotNull final JsonMap delegate)
+    {
+        this.delegate = delegate;
+    }
+
+
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.delegate.data();
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        final var branch = this.index.get(pxth);
+        if (branch != null && branch.json != null)
+        {
+            return branch.json;
+        }
+
+        final var json = this.delegate.select(pxth);
+
+        if (!pxth.isEmpty() && !json.isJsonNull() && !json.isJsonObject() && !json.isJsonArray())
+        {
+            index(pxth, json);
+        }
+
+        return json;
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        invalidate(pxth, true);
+        return this.delegate.remove(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        invalidate(pxth, false);
+        return this.delegate.insert(pxth, data);
+    }
+
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        for (final var op : batch.ops())
+        {
+            invalidate(op.pxth(), op.isRemove());
+        }
+
+        return this.delegate.apply(batch).bind(this);
+    }
+
+
+    @Override
+    public @NotNull JsonMap snapshot()
+    {
+        return this.delegate.snapshot();
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        this.index.clear();
+        this.delegate.restore(snapshot);
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return this.delegate.dirtyPaths();
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return this.delegate.isDirty();
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        this.delegate.clearDirty();
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        this.delegate.markDirty(paths);
+    }
+
+    @Override
+    public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return this.delegate.save(writer, gson, exceptionHandler);
+    }
+
+
+    /**
+     * @return The amount of values currently indexed
+     */
+    @AvailableSince("1.2.0")
+    public int indexed()
+    {
+        int indexed = 0;
+
+        for (final var branch : this.index.values())
+        {
+            if (branch.json != null)
+            {
+                indexed++;
+            }
+        }
+
+        return indexed;
+    }
+
+
+    /**
+     * Index the provided value, and link its path into the branches of its ancestors so it can be dropped along with them
+     */
+    private void index(@NotNull final Pxth pxth, @NotNull final JsonElement json)
+    {
+        this.index.computeIfAbsent(pxth, key -> new Branch()).json = json;
+
+        var child = pxth;
+
+        for (int i = pxth.size() - 1; i > 0; i--)
+        {
+            final var parent = new Pxth(pxth.path().subList(0, i));
+
+            if (!this.index.computeIfAbsent(parent, key -> new Branch()).below.add(child))
+            {
+                // the parent was already linked, and so are its own ancestors
+                break;
+            }
+
+            child = parent;
+        }
+    }
+
+    private void invalidate(@NotNull final Pxth pxth, final boolean remove)
+    {
+        if (this.index.isEmpty())
+        {
+            return;
+        }
+
+        if (pxth.isEmpty())
+        {
+            this.index.clear();
+            return;
+        }
+
+        drop(remove && pxth.size() > 1 && pxth.node(pxth.size() - 1).indexed() ? new Pxth(pxth.path().subList(0, pxth.size() - 1)) : pxth);
+    }
+
+    private void drop(@NotNull final Pxth pxth)
+    {
+        final var branch = this.index.remove(pxth);
+        if (branch == null)
+        {
+            return;
+        }
+
+        for (final var below : branch.below)
+        {
+            drop(below);
+        }
+    }
+
+
+    /**
+     * @return The new {@link IndexedJsonMap} wrapping the provided map, with an empty index
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull IndexedJsonMap of(@NotNull final JsonMap delegate)
+    {
+        return new IndexedJsonMap(delegate);
+    }
+
+
+    private static final class Branch
+    {
+
+        /**
+         * The indexed value at this path, or null if only paths beneath it are indexed
+         */
+        @Nullable
+        private       JsonElement json;
+        @NotNull
+        private final Set<Pxth>   below = new HashSet<>();
+
+    }
+
+}
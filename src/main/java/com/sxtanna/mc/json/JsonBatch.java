@@ -0,0 +1,777 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of inserts and removes, applied to a {@link JsonMap} together
+ * <ul>
+ *   <li>The result of applying a batch is the same as applying each of its operations in order.</li>
+ *   <li>Operations replaced by a later operation on the same path, or on one of its prefixes, are dropped before anything is applied.</li>
+ *   <li>The rest are applied in a single pass ordered by parent path, so shared containers are looked up, or created, once.</li>
+ *   <li>Batches that remove array elements keep their recorded order, since each removal shifts the indices of later operations.</li>
+ * </ul>
+ *
+ * @see JsonMap#batch()
+ * @see JsonMap#apply(JsonBatch)
+ */
+@AvailableSince("1.2.0")
+public final class JsonBatch
+{
+
+    @Nullable
+    private final JsonMap  target;
+    /**
+     * Ordered batches are applied exactly as recorded, they are produced as the inverse of another batch
+     */
+    private final boolean  ordered;
+    @NotNull
+    private final List<Op> ops = new ArrayList<>();
+
+
+    JsonBatch(@Nullable final JsonMap target, final boolean ordered)
+    {
+        this.target  = target;
+        this.ordered = ordered;
+    }
+
+
+    /**
+     * @return This batch, with an insert of the provided data at the provided path
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_, _ -> this")
+    public @NotNull JsonBatch insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        this.ops.add(new Op(pxth, data));
+        return this;
+    }
+
+    /**
+     * @see JsonBatch#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_, _ -> this")
+    public @NotNull JsonBatch insert(@NotNull @Unmodifiable final List<String> path, @NotNull final JsonElement data)
+    {
+        return insert(Pxth.of(path), data);
+    }
+
+    /**
+     * @return This batch, with a remove of the provided path
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> this")
+    public @NotNull JsonBatch remove(@NotNull final Pxth pxth)
+    {
+        this.ops.add(new Op(pxth, null));
+        return this;
+    }
+
+    /**
+     * @see JsonBatch#remove(Pxth)
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> this")
+    public @NotNull JsonBatch remove(@NotNull @Unmodifiable final List<String> path)
+    {
+        return remove(Pxth.of(path));
+    }
+
+
+    /**
+     * @return The operations of this batch, in the order they were added
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull @Unmodifiable List<Op> ops()
+    {
+        return Collections.unmodifiableList(this.ops);
+    }
+
+    /**
+     * @return The amount of operations in this batch
+     */
+    @AvailableSince("1.2.0")
+    public int size()
+    {
+        return this.ops.size();
+    }
+
+    /**
+     * @return True if this batch holds no operations
+     */
+    @AvailableSince("1.2.0")
+    public boolean isEmpty()
+    {
+        return this.ops.isEmpty();
+    }
+
+
+    /**
+     * Apply this batch to the map that created it
+     *
+     * @return The batch that reverts this one, bound to the same map
+     * @throws IllegalStateException if this batch was not created by a map
+     * @see JsonMap#apply(JsonBatch)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonBatch apply()
+    {
+        if (this.target == null)
+        {
+            throw new IllegalStateException("batch is not bound to a map");
+        }
+
+        return this.target.apply(this);
+    }
+
+
+    /**
+     * Write this batch as a JSON Patch, RFC 6902
+     * <p>
+     * Each operation is written as it would apply to the target's current data, after the operations before it. Inserts that replace an
+     * array element are written as {@code replace}, since inserting never shifts array elements, other inserts are written as {@code add},
+     * at the first container they create if any. Operations that would change nothing, such as removing an absent path, are left out.
+     *
+     * @return The JSON Patch document holding the operations of this batch, in the order they were added
+     * @see JsonMap#batch(JsonArray)
+     */
+    @AvailableSince("1.2.0")
+    @Contract(" -> new")
+    public @NotNull JsonArray toPatch()
+    {
+        final var patch   = new JsonArray(this.ops.size());
+        final var scratch = this.target != null ? this.target.snapshot() : JsonMap.create();
+
+        for (final var op : this.ops)
+        {
+            final var pxth = op.pxth();
+            if (pxth.isEmpty())
+            {
+                continue;
+            }
+
+            if (op.isRemove())
+            {
+                if (exists(scratch, pxth))
+                {
+                    patch.add(operation("remove", pxth, null));
+                }
+
+                scratch.remove(pxth);
+            }
+            else
+            {
+                final var json = insertion(scratch, pxth, op.data());
+                if (json != null)
+                {
+                    patch.add(json);
+                }
+
+                // copied, so later inserts into the scratch never modify the data of this batch
+                scratch.insert(pxth, op.data().deepCopy());
+            }
+        }
+
+        return patch;
+    }
+
+
+    /**
+     * @return A copy of this batch bound to the provided map, used by maps that delegate to another
+     */
+    @NotNull JsonBatch bind(@NotNull final JsonMap target)
+    {
+        final var batch = new JsonBatch(target, this.ordered);
+        batch.ops.addAll(this.ops);
+
+        return batch;
+    }
+
+    /**
+     * @return The operations to apply, with every operation whose effect is replaced by a later one dropped, stably sorted by parent path
+     */
+    @NotNull List<Op> plan()
+    {
+        if (this.ordered || shifts())
+        {
+            return this.ops;
+        }
+
+        final var later = new PxthSet();
+        final var plan  = new ArrayList<Op>(this.ops.size());
+
+        for (int i = this.ops.size() - 1; i >= 0; i--)
+        {
+            final var op = this.ops.get(i);
+
+            if (!op.pxth().isEmpty() && !later.covers(op.pxth()))
+            {
+                plan.add(op);
+                later.add(op.pxth());
+            }
+        }
+
+        Collections.reverse(plan);
+
+        // siblings keep their relative order, which matters for arrays, and every path sorts after the paths it depends on
+        plan.sort(JsonBatch::compareParents);
+
+        return plan;
+    }
+
+
+    /**
+     * @return True if any operation may remove an array element, which shifts the indices used by every later operation
+     */
+    private boolean shifts()
+    {
+        for (final var op : this.ops)
+        {
+            if (op.isRemove() && !op.pxth().isEmpty() && op.pxth().node(op.pxth().size() - 1).indexed())
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Apply the planned operations of the provided batch directly to the provided data, in a single pass
+     *
+     * @return The batch that reverts the applied operations, bound to the provided owner
+     */
+    static @NotNull JsonBatch apply(@NotNull final Map<String, JsonElement> data, @NotNull final JsonBatch batch, @NotNull final JsonMap owner)
+    {
+        final var undo = new ArrayList<Op>();
+
+        // trail[i] holds the element reached after the first i nodes of the previous path, valid up to `valid`
+        var  trail = new JsonElement[8];
+        int  valid = 0;
+        Pxth last  = null;
+
+        for (final var op : batch.plan())
+        {
+            final var pxth = op.pxth();
+            final var size = pxth.size();
+
+            if (size == 0)
+            {
+                continue;
+            }
+
+            if (size >= trail.length)
+            {
+                trail = Arrays.copyOf(trail, size + 1);
+            }
+
+            int depth = last == null ? 0 : Math.min(Math.min(shared(last, pxth), valid), size - 1);
+            last = pxth;
+
+            Pxth created = null;
+
+            // walk, and for inserts create, the containers down to the parent
+            for (; depth < size - 1; depth++)
+            {
+                final var node = pxth.node(depth);
+
+                JsonElement next;
+
+                if (depth == 0)
+                {
+                    next = data.get(node.name());
+                }
+                else if (trail[depth].isJsonObject())
+                {
+                    next = trail[depth].getAsJsonObject().get(node.name());
+                }
+                else if (trail[depth].isJsonArray())
+                {
+                    next = JsonNodes.child(trail[depth].getAsJsonArray(), node);
+                    if (next == null)
+                    {
+                        break;
+                    }
+                }
+                else
+                {
+                    break;
+                }
+
+                if (next == null)
+                {
+                    if (op.isRemove())
+                    {
+                        break;
+                    }
+
+                    next = new JsonObject();
+
+                    if (depth == 0)
+                    {
+                        data.put(node.name(), next);
+                    }
+                    else
+                    {
+                        trail[depth].getAsJsonObject().add(node.name(), next);
+                    }
+
+                    if (created == null)
+                    {
+                        created = prefix(pxth, depth + 1);
+                    }
+                }
+
+                trail[depth + 1] = next;
+            }
+
+            valid = depth;
+
+            if (depth < size - 1)
+            {
+                // blocked by a missing path or a non container, like a single remove or insert this changes nothing
+                continue;
+            }
+
+            final var node = pxth.node(size - 1);
+            final var json = op.data();
+
+            JsonElement prev;
+
+            if (size == 1)
+            {
+                prev = json != null ? data.put(node.name(), json) : data.remove(node.name());
+            }
+            else if (trail[size - 1].isJsonObject())
+            {
+                final var parent = trail[size - 1].getAsJsonObject();
+
+                prev = parent.remove(node.name());
+
+                if (json != null)
+                {
+                    parent.add(node.name(), json);
+                }
+            }
+            else if (trail[size - 1].isJsonArray() && JsonNodes.child(trail[size - 1].getAsJsonArray(), node) != null)
+            {
+                final var parent = trail[size - 1].getAsJsonArray();
+
+                if (json != null)
+                {
+                    prev = parent.set(node.index(), json);
+                }
+                else
+                {
+                    // removing shifts the following elements, so the whole array is restored instead
+                    undo.add(new Op(prefix(pxth, size - 1), JsonNodes.copy(parent)));
+
+                    parent.remove(node.index());
+                    continue;
+                }
+            }
+            else
+            {
+                continue;
+            }
+
+            if (json != null)
+            {
+                trail[size] = json;
+                valid = size;
+            }
+
+            if (created != null)
+            {
+                undo.add(new Op(created, null));
+            }
+            else if (json != null || prev != null)
+            {
+                undo.add(new Op(pxth, prev));
+            }
+        }
+
+        final var inverse = new JsonBatch(owner, true);
+
+        for (int i = undo.size() - 1; i >= 0; i--)
+        {
+            inverse.ops.add(undo.get(i));
+        }
+
+        return inverse;
+    }
+
+
+    /**
+     * @return The ordered batch that turns the data {@code from} into the data {@code to}, bound to the provided target
+     */
+    static @NotNull JsonBatch diff(@NotNull final JsonMap target, @NotNull final Map<String, JsonElement> from, @NotNull final Map<String, JsonElement> to)
+    {
+        final var batch = new JsonBatch(target, true);
+
+        if (from == to)
+        {
+            return batch;
+        }
+
+        for (final var name : from.keySet())
+        {
+            if (!to.containsKey(name))
+            {
+                batch.remove(Pxth.NONE.child(name));
+            }
+        }
+
+        for (final var entry : to.entrySet())
+        {
+            final var prev = from.get(entry.getKey());
+
+            if (prev == null)
+            {
+                batch.insert(Pxth.NONE.child(entry.getKey()), entry.getValue().deepCopy());
+            }
+            else
+            {
+                diff(batch, Pxth.NONE.child(entry.getKey()), prev, entry.getValue());
+            }
+        }
+
+        return batch;
+    }
+
+    /**
+     * @return The ordered batch holding the operations of the provided JSON Patch, bound to the provided target
+     * @throws IllegalArgumentException if the patch is malformed, targets the root, adds into an array or below a missing parent, replaces or removes a missing path,
+     *                                  or uses an operation other than {@code add}, {@code replace}, or {@code remove}
+     */
+    static @NotNull JsonBatch patch(@NotNull final JsonMap target, @NotNull final JsonArray patch)
+    {
+        final var batch   = new JsonBatch(target, true);
+        // the target as the patch leaves it so far, to tell which containers each operation lands in
+        final var scratch = target.snapshot();
+
+        for (final var element : patch)
+        {
+            if (!element.isJsonObject())
+            {
+                throw new IllegalArgumentException("patch operation is not an object: " + element);
+            }
+
+            final var json = element.getAsJsonObject();
+            final var op   = json.get("op");
+            final var path = json.get("path");
+
+            if (op == null || path == null)
+            {
+                throw new IllegalArgumentException("patch operation is missing op or path: " + json);
+            }
+
+            final var pxth = pointer(path.getAsString());
+            if (pxth.isEmpty())
+            {
+                throw new IllegalArgumentException("patch operation on the root is not supported: " + json);
+            }
+
+            switch (op.getAsString())
+            {
+                case "add", "replace" ->
+                {
+                    final var value = json.get("value");
+                    if (value == null)
+                    {
+                        throw new IllegalArgumentException("patch operation is missing value: " + json);
+                    }
+
+                    if (op.getAsString().equals("add"))
+                    {
+                        final var parent = pxth.size() == 1 ? null : scratch.select(prefix(pxth, pxth.size() - 1));
+
+                        // an add into an array inserts and shifts, or appends with '-', which an insert never does
+                        if (parent != null && parent.isJsonArray())
+                        {
+                            throw new IllegalArgumentException("patch operation adding into an array is not supported: " + json);
+                        }
+                        if (parent != null && !parent.isJsonObject())
+                        {
+                            throw new IllegalArgumentException("patch operation adding below a missing parent: " + json);
+                        }
+                    }
+                    else if (!exists(scratch, pxth))
+                    {
+                        throw new IllegalArgumentException("patch operation replacing a missing path: " + json);
+                    }
+
+                    batch.insert(pxth, value);
+                    scratch.insert(pxth, value.deepCopy());
+                }
+                case "remove" ->
+                {
+                    if (!exists(scratch, pxth))
+                    {
+                        throw new IllegalArgumentException("patch operation removing a missing path: " + json);
+                    }
+
+                    batch.remove(pxth);
+                    scratch.remove(pxth);
+                }
+                default -> throw new IllegalArgumentException("unsupported patch operation: " + op.getAsString());
+            }
+        }
+
+        return batch;
+    }
+
+
+    private static void diff(@NotNull final JsonBatch batch, @NotNull final Pxth pxth, @NotNull final JsonElement from, @NotNull final JsonElement to)
+    {
+        // copy on write versions share every unmodified subtree, so only changed paths are ever walked
+        if (from == to)
+        {
+            return;
+        }
+
+        if (from.isJsonObject() && to.isJsonObject())
+        {
+            final var prev = from.getAsJsonObject();
+            final var next = to.getAsJsonObject();
+
+            for (final var name : prev.keySet())
+            {
+                if (!next.has(name))
+                {
+                    batch.remove(pxth.child(name));
+                }
+            }
+
+            for (final var entry : next.entrySet())
+            {
+                final var json = prev.get(entry.getKey());
+
+                if (json == null)
+                {
+                    batch.insert(pxth.child(entry.getKey()), entry.getValue().deepCopy());
+                }
+                else
+                {
+                    diff(batch, pxth.child(entry.getKey()), json, entry.getValue());
+                }
+            }
+
+            return;
+        }
+
+        // inserting never appends to an array, so only arrays that did not grow are compared element by element
+        if (from.isJsonArray() && to.isJsonArray() && to.getAsJsonArray().size() <= from.getAsJsonArray().size())
+        {
+            final var prev = from.getAsJsonArray();
+            final var next = to.getAsJsonArray();
+
+            for (int i = 0; i < next.size(); i++)
+            {
+                diff(batch, pxth.child(String.valueOf(i)), prev.get(i), next.get(i));
+            }
+
+            for (int i = prev.size() - 1; i >= next.size(); i--)
+            {
+                batch.remove(pxth.child(String.valueOf(i)));
+            }
+
+            return;
+        }
+
+        if (!from.equals(to))
+        {
+            batch.insert(pxth, to.deepCopy());
+        }
+    }
+
+    /**
+     * @return The patch operation writing the provided insert as it applies to the provided map, or null if it would change nothing
+     */
+    private static @Nullable JsonObject insertion(@NotNull final JsonMap map, @NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        // null while at the root of the map
+        JsonElement container = null;
+
+        for (int i = 0; i < pxth.size() - 1; i++)
+        {
+            final var node  = pxth.node(i);
+            final var child = container == null ? map.data().get(node.name()) : JsonNodes.child(container, node);
+
+            if (child == null)
+            {
+                if (container != null && container.isJsonArray())
+                {
+                    return null;
+                }
+
+                // the missing containers are created as objects, so they are added at once, holding the data
+                var value = data;
+
+                for (int j = pxth.size() - 1; j > i; j--)
+                {
+                    final var wrap = new JsonObject();
+                    wrap.add(pxth.node(j).name(), value);
+
+                    value = wrap;
+                }
+
+                return operation("add", prefix(pxth, i + 1), value);
+            }
+
+            if (!child.isJsonObject() && !child.isJsonArray())
+            {
+                return null;
+            }
+
+            container = child;
+        }
+
+        if (container != null && container.isJsonArray())
+        {
+            return JsonNodes.child(container, pxth.node(pxth.size() - 1)) != null ? operation("replace", pxth, data) : null;
+        }
+
+        return operation("add", pxth, data);
+    }
+
+    private static boolean exists(@NotNull final JsonMap map, @NotNull final Pxth pxth)
+    {
+        if (pxth.size() == 1)
+        {
+            return map.data().containsKey(pxth.node(0).name());
+        }
+
+        return JsonNodes.child(map.select(prefix(pxth, pxth.size() - 1)), pxth.node(pxth.size() - 1)) != null;
+    }
+
+    private static @NotNull JsonObject operation(@NotNull final String op, @NotNull final Pxth pxth, @Nullable final JsonElement value)
+    {
+        final var json = new JsonObject();
+        json.addProperty("op", op);
+        json.addProperty("path", pointer(pxth));
+
+        if (value != null)
+        {
+            json.add("value", value);
+        }
+
+        return json;
+    }
+
+    private static @NotNull String pointer(@NotNull final Pxth pxth)
+    {
+        final var pointer = new StringBuilder();
+
+        for (final var name : pxth.path())
+        {
+            pointer.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+        }
+
+        return pointer.toString();
+    }
+
+    private static @NotNull Pxth pointer(@NotNull final String pointer)
+    {
+        if (pointer.isEmpty())
+        {
+            return Pxth.NONE;
+        }
+
+        if (pointer.charAt(0) != '/')
+        {
+            throw new IllegalArgumentException("json pointer must start with '/': " + pointer);
+        }
+
+        final var names = pointer.substring(1).split("/", -1);
+
+        for (int i = 0; i < names.length; i++)
+        {
+            names[i] = names[i].replace("~1", "/").replace("~0", "~");
+        }
+
+        return new Pxth(List.of(names));
+    }
+
+
+    /**
+     * Compare the paths of the containers modified by the provided operations, without creating them
+     */
+    private static int compareParents(@NotNull final Op a, @NotNull final Op b)
+    {
+        final var sizeA = a.pxth().size() - 1;
+        final var sizeB = b.pxth().size() - 1;
+
+        for (int i = 0; i < Math.min(sizeA, sizeB); i++)
+        {
+            final var compare = a.pxth().node(i).name().compareTo(b.pxth().node(i).name());
+            if (compare != 0)
+            {
+                return compare;
+            }
+        }
+
+        return Integer.compare(sizeA, sizeB);
+    }
+
+    private static int shared(@NotNull final Pxth a, @NotNull final Pxth b)
+    {
+        final var size = Math.min(a.size(), b.size());
+
+        for (int i = 0; i < size; i++)
+        {
+            if (!a.node(i).name().equals(b.node(i).name()))
+            {
+                return i;
+            }
+        }
+
+        return size;
+    }
+
+    private static @NotNull Pxth prefix(@NotNull final Pxth pxth, final int size)
+    {
+        return size == pxth.size() ? pxth : new Pxth(pxth.path().subList(0, size));
+    }
+
+
+    /**
+     * A single operation of a {@link JsonBatch}
+     *
+     * @param pxth The path operated on
+     * @param data The data to insert, or null to remove the path
+     */
+    @AvailableSince("1.2.0")
+    public record Op(@NotNull Pxth pxth, @Nullable JsonElement data)
+    {
+
+        /**
+         * @return True if this operation removes its path
+         */
+        @AvailableSince("1.2.0")
+        public boolean isRemove()
+        {
+            return this.data == null;
+        }
+
+    }
+
+}
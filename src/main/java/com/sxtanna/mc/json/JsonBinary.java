@@ -0,0 +1,706 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A compact binary format for the data of a {@link JsonMap}
+ * <ul>
+ *   <li>Every object key is written once, into a dictionary at the start of the document, and referenced by its index.</li>
+ *   <li>Whole numbers are written as zigzag varints, other numbers as raw floats and doubles, or as text if neither is exact.</li>
+ *   <li>Objects and arrays are prefixed with their length in bytes, so a reader may skip them without decoding.</li>
+ * </ul>
+ * <pre>
+ * document   = int(magic) varint(version) dictionary object
+ * dictionary = varint(count) (varint(length) utf8)*
+ * element    = byte(tag) payload
+ * object     = OBJECT int(length) varint(count) (varint(key) element)*
+ * array      = ARRAY int(length) varint(count) element*
+ * </pre>
+ *
+ * @see JsonBinary#encode(JsonMap)
+ * @see JsonBinary#decode(ByteBuffer)
+ */
+@AvailableSince("1.2.0")
+public final class JsonBinary
+{
+
+    static final int MAGIC   = 0x4A534D42; // JSMB
+    static final int VERSION = 1;
+
+    static final byte NULL   = 0;
+    static final byte FALSE  = 1;
+    static final byte TRUE   = 2;
+    static final byte LONG   = 3;
+    static final byte FLOAT  = 4;
+    static final byte DOUBLE = 5;
+    static final byte NUMBER = 6;
+    static final byte STRING = 7;
+    static final byte OBJECT = 8;
+    static final byte ARRAY  = 9;
+
+
+    private JsonBinary()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+
+    /**
+     * @param map The map to encode
+     * @return A new buffer holding the encoded document, positioned at its start
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    public static @NotNull ByteBuffer encode(@NotNull final JsonMap map)
+    {
+        final var keys = new LinkedHashMap<String, Integer>();
+
+        for (final var entry : map.data().entrySet())
+        {
+            keys.putIfAbsent(entry.getKey(), keys.size());
+            collect(entry.getValue(), keys);
+        }
+
+        final var out = new Output();
+
+        out.ensure(8);
+        out.buffer.putInt(MAGIC);
+        out.putVarint(VERSION);
+
+        out.putVarint(keys.size());
+        for (final var key : keys.keySet())
+        {
+            out.putString(key);
+        }
+
+        final var mark = out.beginContainer(OBJECT, map.data().size());
+
+        for (final var entry : map.data().entrySet())
+        {
+            out.putVarint(keys.get(entry.getKey()));
+            write(out, entry.getValue(), keys);
+        }
+
+        out.endContainer(mark);
+
+        return out.buffer.flip();
+    }
+
+    /**
+     * @param buffer The buffer holding an encoded document, read from its current position
+     * @return The new {@link JsonMap} holding the decoded data
+     * @throws IllegalArgumentException if the buffer does not hold an encoded document
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    public static @NotNull JsonMap decode(@NotNull final ByteBuffer buffer)
+    {
+        try
+        {
+            final var keys = header(buffer);
+
+            if (buffer.get() != OBJECT)
+            {
+                throw new IllegalArgumentException("document does not hold an object");
+            }
+
+            buffer.getInt();
+
+            final var size = getCount(buffer);
+            final var data = new LinkedHashMap<String, JsonElement>();
+
+            for (int i = 0; i < size; i++)
+            {
+                data.put(keys[getVarint(buffer)], read(buffer, keys));
+            }
+
+            return JsonMap.create(data);
+        }
+        catch (final BufferUnderflowException | IndexOutOfBoundsException ex)
+        {
+            throw new IllegalArgumentException("document is truncated or malformed", ex);
+        }
+    }
+
+
+    /**
+     * Encode the provided map into a temporary file, then move it over the provided path
+     *
+     * @param map              The map to save
+     * @param path             The file to replace
+     * @param exceptionHandler The handler for any caught exception during the saving process
+     * @return True if the file was replaced, false otherwise
+     */
+    @AvailableSince("1.2.0")
+    public static boolean save(@NotNull final JsonMap map, @NotNull final Path path, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            final var buffer = encode(map);
+
+            return JsonStreams.replace(path, temp ->
+            {
+                try (final var channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+                {
+                    while (buffer.hasRemaining())
+                    {
+                        channel.write(buffer);
+                    }
+                }
+
+                return true;
+            });
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return false;
+    }
+
+    /**
+     * @see JsonBinary#save(JsonMap, Path, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public static boolean save(@NotNull final JsonMap map, @NotNull final Path path)
+    {
+        return save(map, path, JsonMap.PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @param path             The file holding an encoded document
+     * @param exceptionHandler The handler for any caught exception during the loading process
+     * @return The new {@link JsonMap} holding the decoded data, or null if the loading process fails
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable JsonMap load(@NotNull final Path path, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            return decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * @see JsonBinary#load(Path, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable JsonMap load(@NotNull final Path path)
+    {
+        return load(path, JsonMap.PRINT_STACK_TRACE);
+    }
+
+
+    /**
+     * Validate the header of a document, leaving the buffer positioned at its root object
+     *
+     * @return The key dictionary of the document
+     */
+    static @NotNull String[] header(@NotNull final ByteBuffer buffer)
+    {
+        if (buffer.remaining() < 4 || buffer.getInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("buffer does not hold a json map document");
+        }
+
+        final var version = getVarint(buffer);
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException("unsupported document version: " + version);
+        }
+
+        final var keys = new String[getCount(buffer)];
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = getString(buffer);
+        }
+
+        return keys;
+    }
+
+    /**
+     * Decode the element at the buffer's position, leaving the buffer positioned after it
+     */
+    static @NotNull JsonElement read(@NotNull final ByteBuffer buffer, @NotNull final String[] keys)
+    {
+        final var tag = buffer.get();
+
+        return switch (tag)
+        {
+            case NULL -> JsonNull.INSTANCE;
+            case FALSE -> new JsonPrimitive(false);
+            case TRUE -> new JsonPrimitive(true);
+            case LONG -> new JsonPrimitive(getVarlong(buffer));
+            case FLOAT -> new JsonPrimitive(buffer.getFloat());
+            case DOUBLE -> new JsonPrimitive(buffer.getDouble());
+            case NUMBER -> getNumber(buffer);
+            case STRING -> new JsonPrimitive(getString(buffer));
+            case OBJECT ->
+            {
+                buffer.getInt();
+
+                final var size = getCount(buffer);
+                final var json = new JsonObject();
+
+                for (int i = 0; i < size; i++)
+                {
+                    json.add(keys[getVarint(buffer)], read(buffer, keys));
+                }
+
+                yield json;
+            }
+            case ARRAY ->
+            {
+                buffer.getInt();
+
+                final var size = getCount(buffer);
+                final var json = new JsonArray(size);
+
+                for (int i = 0; i < size; i++)
+                {
+                    json.add(read(buffer, keys));
+                }
+
+                yield json;
+            }
+            default -> throw new IllegalArgumentException("unknown element tag: " + tag);
+        };
+    }
+
+    /**
+     * Move the buffer past the element at its position, without decoding it
+     */
+    static void skip(@NotNull final ByteBuffer buffer)
+    {
+        final var tag = buffer.get();
+
+        switch (tag)
+        {
+            case NULL, FALSE, TRUE -> {}
+            case LONG -> getVarlong(buffer);
+            case FLOAT -> buffer.position(buffer.position() + Float.BYTES);
+            case DOUBLE -> buffer.position(buffer.position() + Double.BYTES);
+            case NUMBER, STRING ->
+            {
+                final var length = getVarint(buffer);
+                buffer.position(buffer.position() + length);
+            }
+            case OBJECT, ARRAY ->
+            {
+                final var length = buffer.getInt();
+                buffer.position(buffer.position() + length);
+            }
+            default -> throw new IllegalArgumentException("unknown element tag: " + tag);
+        }
+    }
+
+
+    static int getVarint(@NotNull final ByteBuffer buffer)
+    {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7)
+        {
+            final var b = buffer.get();
+            value |= (b & 0x7F) << shift;
+
+            if (b >= 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    static long getVarlong(@NotNull final ByteBuffer buffer)
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 70; shift += 7)
+        {
+            final var b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if (b >= 0)
+            {
+                // zigzag
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+
+        throw new IllegalArgumentException("malformed varlong");
+    }
+
+    /**
+     * @return The element count at the buffer's position, each element takes at least one byte, so a count above the remaining bytes is malformed
+     */
+    static int getCount(@NotNull final ByteBuffer buffer)
+    {
+        final var count = getVarint(buffer);
+
+        if (count < 0 || count > buffer.remaining())
+        {
+            throw new IllegalArgumentException("element count exceeds the buffer: " + count);
+        }
+
+        return count;
+    }
+
+    static @NotNull String getString(@NotNull final ByteBuffer buffer)
+    {
+        final var length = getVarint(buffer);
+
+        if (length < 0 || length > buffer.remaining())
+        {
+            throw new IllegalArgumentException("string length exceeds the buffer: " + length);
+        }
+
+        if (buffer.hasArray())
+        {
+            final var string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+
+            return string;
+        }
+
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The number stored as text at the buffer's position, parsed so it keeps its exact text, including the sign of a zero
+     */
+    static @NotNull JsonElement getNumber(@NotNull final ByteBuffer buffer)
+    {
+        final var text = getString(buffer);
+
+        try
+        {
+            final var json = JsonParser.parseString(text);
+
+            if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber())
+            {
+                return json;
+            }
+        }
+        catch (final JsonParseException ignored)
+        {
+            // reported below
+        }
+
+        throw new IllegalArgumentException("malformed number: " + text);
+    }
+
+
+    private static void collect(@NotNull final JsonElement json, @NotNull final Map<String, Integer> keys)
+    {
+        if (json.isJsonObject())
+        {
+            for (final var entry : json.getAsJsonObject().entrySet())
+            {
+                keys.putIfAbsent(entry.getKey(), keys.size());
+                collect(entry.getValue(), keys);
+            }
+        }
+        else if (json.isJsonArray())
+        {
+            for (final var element : json.getAsJsonArray())
+            {
+                collect(element, keys);
+            }
+        }
+    }
+
+    private static void write(@NotNull final Output out, @NotNull final JsonElement json, @NotNull final Map<String, Integer> keys)
+    {
+        if (json.isJsonObject())
+        {
+            final var object = json.getAsJsonObject();
+            final var mark   = out.beginContainer(OBJECT, object.size());
+
+            for (final var entry : object.entrySet())
+            {
+                out.putVarint(keys.get(entry.getKey()));
+                write(out, entry.getValue(), keys);
+            }
+
+            out.endContainer(mark);
+        }
+        else if (json.isJsonArray())
+        {
+            final var array = json.getAsJsonArray();
+            final var mark  = out.beginContainer(ARRAY, array.size());
+
+            for (final var element : array)
+            {
+                write(out, element, keys);
+            }
+
+            out.endContainer(mark);
+        }
+        else if (json.isJsonPrimitive())
+        {
+            final var primitive = json.getAsJsonPrimitive();
+
+            if (primitive.isBoolean())
+            {
+                out.putTag(primitive.getAsBoolean() ? TRUE : FALSE);
+            }
+            else if (primitive.isString())
+            {
+                out.putTag(STRING);
+                out.putString(primitive.getAsString());
+            }
+            else
+            {
+                writeNumber(out, primitive.getAsNumber());
+            }
+        }
+        else
+        {
+            out.putTag(NULL);
+        }
+    }
+
+    private static void writeNumber(@NotNull final Output out, @NotNull final Number number)
+    {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte)
+        {
+            out.putTag(LONG);
+            out.putVarlong(number.longValue());
+            return;
+        }
+
+        if (number instanceof Float value)
+        {
+            out.putTag(FLOAT);
+            out.ensure(Float.BYTES);
+            out.buffer.putFloat(value);
+            return;
+        }
+
+        if (number instanceof Double value)
+        {
+            out.putTag(DOUBLE);
+            out.ensure(Double.BYTES);
+            out.buffer.putDouble(value);
+            return;
+        }
+
+        // numbers parsed from text, or of arbitrary precision, are stored in the narrowest exact representation
+        final var text = number.toString();
+
+        if (isWhole(text) && !isNegativeZero(text))
+        {
+            out.putTag(LONG);
+            out.putVarlong(Long.parseLong(text));
+            return;
+        }
+
+        try
+        {
+            final var value = Double.parseDouble(text);
+
+            if (Double.isFinite(value) && !isNegativeZero(text) && BigDecimal.valueOf(value).compareTo(new BigDecimal(text)) == 0)
+            {
+                out.putTag(DOUBLE);
+                out.ensure(Double.BYTES);
+                out.buffer.putDouble(value);
+                return;
+            }
+        }
+        catch (final NumberFormatException ignored)
+        {
+            // NaN and infinities read leniently are kept as text
+        }
+
+        // negative zero is kept as text too, it has no sign as a long, and would be read back as -0.0 from a double
+
+        out.putTag(NUMBER);
+        out.putString(text);
+    }
+
+
+    /**
+     * @return True if the text is a negative number whose digits are all zero
+     */
+    private static boolean isNegativeZero(@NotNull final String text)
+    {
+        if (!text.startsWith("-"))
+        {
+            return false;
+        }
+
+        for (int i = 1; i < text.length(); i++)
+        {
+            final var c = text.charAt(i);
+
+            if (c == 'e' || c == 'E')
+            {
+                break;
+            }
+            if (c != '0' && c != '.')
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return True if the text is a whole number that certainly fits in a long
+     */
+    private static boolean isWhole(@NotNull final String text)
+    {
+        final var from = text.startsWith("-") ? 1 : 0;
+
+        if (text.length() == from || text.length() - from > 18)
+        {
+            return false;
+        }
+
+        for (int i = from; i < text.length(); i++)
+        {
+            final var c = text.charAt(i);
+            if (c < '0' || c > '9')
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * A growable buffer for encoding
+     */
+    private static final class Output
+    {
+
+        @NotNull
+        private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+
+        private void ensure(final int bytes)
+        {
+            if (this.buffer.remaining() >= bytes)
+            {
+                return;
+            }
+
+            final var next = ByteBuffer.allocate(Math.max(this.buffer.capacity() << 1, this.buffer.position() + bytes));
+            next.put(this.buffer.flip());
+
+            this.buffer = next;
+        }
+
+
+        private void putTag(final byte tag)
+        {
+            ensure(1);
+            this.buffer.put(tag);
+        }
+
+        private void putVarint(int value)
+        {
+            ensure(5);
+
+            while ((value & ~0x7F) != 0)
+            {
+                this.buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+
+            this.buffer.put((byte) value);
+        }
+
+        private void putVarlong(final long value)
+        {
+            ensure(10);
+
+            // zigzag, so small negative numbers stay small
+            var bits = (value << 1) ^ (value >> 63);
+
+            while ((bits & ~0x7FL) != 0)
+            {
+                this.buffer.put((byte) ((bits & 0x7F) | 0x80));
+                bits >>>= 7;
+            }
+
+            this.buffer.put((byte) bits);
+        }
+
+        private void putString(@NotNull final String value)
+        {
+            final var bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            putVarint(bytes.length);
+
+            ensure(bytes.length);
+            this.buffer.put(bytes);
+        }
+
+
+        /**
+         * @return The position of the length to fill in once the container is written
+         */
+        private int beginContainer(final byte tag, final int size)
+        {
+            putTag(tag);
+
+            ensure(Integer.BYTES);
+
+            final var mark = this.buffer.position();
+            this.buffer.putInt(0);
+
+            putVarint(size);
+
+            return mark;
+        }
+
+        private void endContainer(final int mark)
+        {
+            this.buffer.putInt(mark, this.buffer.position() - mark - Integer.BYTES);
+        }
+
+    }
+
+}
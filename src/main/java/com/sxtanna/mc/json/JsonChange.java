@@ -0,0 +1,40 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+/**
+ * A change to the value stored at a path of an {@link ObservableJsonMap}
+ *
+ * @param pxth The path that changed, either the path written to, or the subscribed path if the write replaced one of its ancestors
+ * @param prev The value stored before the change, or {@link JsonNull#INSTANCE} if absent
+ * @param next The value stored after the change, or {@link JsonNull#INSTANCE} if removed
+ */
+@AvailableSince("1.2.0")
+public record JsonChange(@NotNull Pxth pxth, @NotNull JsonElement prev, @NotNull JsonElement next)
+{
+
+    /**
+     * @return True if the path was absent before the change
+     */
+    @AvailableSince("1.2.0")
+    public boolean isInsert()
+    {
+        return this.prev.isJsonNull();
+    }
+
+    /**
+     * @return True if the path is absent after the change
+     */
+    @AvailableSince("1.2.0")
+    public boolean isRemove()
+    {
+        return this.next.isJsonNull();
+    }
+
+}
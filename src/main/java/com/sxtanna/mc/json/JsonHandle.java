@@ -0,0 +1,158 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JsonKey} bound to a {@link JsonMap}, returned by {@link JsonKey#bind(JsonMap)}
+ * <p>
+ * The container holding the value is resolved once and kept while {@link JsonMap#version()} is unchanged, so a read costs a single
+ * lookup instead of one per node of the path. Maps that do not track their version are read through {@link JsonMap#select(Pxth)}.
+ * A handle is as thread safe as its map.
+ */
+@AvailableSince("1.2.0")
+public final class JsonHandle<T>
+{
+
+    @NotNull
+    private final JsonKey<T>  jKey;
+    @NotNull
+    private final JsonMap     map;
+
+    @Nullable
+    private       JsonElement parent;
+    private       long        version = -1L;
+
+
+    JsonHandle(@NotNull final JsonKey<T> jKey, @NotNull final JsonMap map)
+    {
+        this.jKey = jKey;
+        this.map  = map;
+    }
+
+
+    /**
+     * @return The key this handle reads
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonKey<T> key()
+    {
+        return this.jKey;
+    }
+
+    /**
+     * @return The map this handle reads from
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonMap map()
+    {
+        return this.map;
+    }
+
+
+    /**
+     * @return The element stored at the path of the key, as {@link JsonMap#select(Pxth)} would return it
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement json()
+    {
+        final var pxth    = this.jKey.pxth();
+        final var version = this.map.version();
+
+        if (version < 0 || pxth.size() < 2)
+        {
+            return this.map.select(pxth);
+        }
+
+        var parent = this.parent;
+
+        if (parent == null || this.version != version)
+        {
+            final var json = JsonNodes.find(this.map.data().get(pxth.node(0).name()), pxth, 1, pxth.size() - 1);
+
+            if (!json.isJsonObject() && !json.isJsonArray())
+            {
+                // the path is blocked or missing, it is resolved again on the next read as it may be created without a version change
+                this.parent = null;
+                return json;
+            }
+
+            parent = json;
+
+            this.parent  = parent;
+            this.version = version;
+        }
+
+        return JsonNodes.step(parent, pxth.node(pxth.size() - 1));
+    }
+
+    /**
+     * Decode the value stored at the path of the key, as {@link JsonMap#select(JsonKey, Gson, Consumer)} would
+     *
+     * @param gson             The gson instance used if the key is not {@link JsonKey.Direct}
+     * @param exceptionHandler The handler for any exception thrown while decoding
+     * @return The decoded value, or null if it is absent or could not be decoded
+     */
+    @AvailableSince("1.2.0")
+    public @Nullable T select(@NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var json = json();
+
+        try
+        {
+            if (this.jKey instanceof JsonKey.Direct<T> direct)
+            {
+                return direct.from(json);
+            }
+
+            return json.isJsonNull() ? null : gson.fromJson(json, this.jKey.type());
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * @see JsonHandle#select(Gson, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public @Nullable T select(@NotNull final Gson gson)
+    {
+        return select(gson, JsonMap.PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonHandle#select(Gson, Consumer)
+     * @see JsonMap#FALLBACK_GSON_REF
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public @Nullable T select()
+    {
+        final var gson = JsonMap.FALLBACK_GSON_REF.get();
+        return select(gson != null ? gson : JsonMap.GSON, JsonMap.PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonHandle#select()
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull Optional<T> selectOpt()
+    {
+        return Optional.ofNullable(select());
+    }
+
+}
@@ -8,11 +8,21 @@ import org.jetbrains.annotations.Nullable;
 
 import com.sxtanna.mc.json.pxth.Pxth;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Type;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Represents the information necessary to encode and decode a {@link JsonElement} to/from {@code T} at a certain path
@@ -23,6 +33,9 @@ import java.util.function.Function;
  * @see JsonKey#of(Pxth, TypeToken)
  * @see JsonKey#of(Pxth, Class, Function, Function)
  * @see JsonKey#of(Pxth, TypeToken, Function, Function)
+ * @see JsonKey#ofInt(Pxth)
+ * @see JsonKey#ofLong(Pxth)
+ * @see JsonKey#ofDouble(Pxth)
  */
 @AvailableSince("0.1.0")
 public interface JsonKey<T>
@@ -40,6 +53,35 @@ public interface JsonKey<T>
     @AvailableSince("0.1.0")
     @NotNull Type type();
 
+    /**
+     * Resolve the {@link TypeAdapter} used to encode and decode the value at this key
+     * <p>
+     * Keys created through {@link JsonKey#of(Pxth, Class)} and {@link JsonKey#of(Pxth, TypeToken)} cache the adapter
+     * for the last {@link Gson} they were used with, so repeated reads and writes skip Gson's type token lookup.
+     *
+     * @param gson The {@link Gson} instance to resolve the adapter from
+     * @return The {@link TypeAdapter} for {@link JsonKey#type()}
+     */
+    @AvailableSince("1.2.0")
+    @SuppressWarnings("unchecked")
+    default @NotNull TypeAdapter<T> adapter(@NotNull final Gson gson)
+    {
+        return (TypeAdapter<T>) gson.getAdapter(TypeToken.get(type()));
+    }
+
+    /**
+     * Bind this key to the provided map, the returned handle keeps the container holding the value between reads
+     *
+     * @param map The map to read from
+     * @return The new {@link JsonHandle} for this key and the provided map
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    default @NotNull JsonHandle<T> bind(@NotNull final JsonMap map)
+    {
+        return new JsonHandle<>(this, map);
+    }
+
 
     /**
      * Represents a {@link JsonKey} that directly encodes and decodes its value
@@ -72,6 +114,159 @@ public interface JsonKey<T>
 
     }
 
+    /**
+     * Represents a {@link JsonKey.Direct} whose value is a int, encoded and decoded without boxing
+     * <p>
+     * {@link JsonMap#selectInt(JsonKey.IntKey, int)} and {@link JsonMap#insertInt(JsonKey.IntKey, int)} use the primitive codec directly,
+     * the boxed codec of {@link JsonKey.Direct} delegates to it.
+     */
+    @AvailableSince("1.2.0")
+    interface IntKey extends Direct<Integer>
+    {
+
+        /**
+         * Encodes the provided int into a {@link JsonElement}
+         *
+         * @param data The data to encode
+         * @return The encoded {@link JsonElement}
+         */
+        @OverrideOnly
+        @AvailableSince("1.2.0")
+        @NotNull JsonElement intoInt(final int data);
+
+        /**
+         * Decodes a int from the provided {@link JsonElement}
+         *
+         * @param json The json to decode, never {@link JsonNull}
+         * @return The decoded int
+         */
+        @OverrideOnly
+        @AvailableSince("1.2.0")
+        int fromInt(@NotNull final JsonElement json);
+
+
+        @Override
+        default @NotNull Type type()
+        {
+            return Integer.class;
+        }
+
+        @Override
+        default @NotNull JsonElement into(@Nullable final Integer data)
+        {
+            return data == null ? JsonNull.INSTANCE : intoInt(data);
+        }
+
+        @Override
+        default @Nullable Integer from(@NotNull final JsonElement json)
+        {
+            return json.isJsonNull() ? null : fromInt(json);
+        }
+
+    }
+
+    /**
+     * Represents a {@link JsonKey.Direct} whose value is a long, encoded and decoded without boxing
+     * <p>
+     * {@link JsonMap#selectLong(JsonKey.LongKey, long)} and {@link JsonMap#insertLong(JsonKey.LongKey, long)} use the primitive codec directly,
+     * the boxed codec of {@link JsonKey.Direct} delegates to it.
+     */
+    @AvailableSince("1.2.0")
+    interface LongKey extends Direct<Long>
+    {
+
+        /**
+         * Encodes the provided long into a {@link JsonElement}
+         *
+         * @param data The data to encode
+         * @return The encoded {@link JsonElement}
+         */
+        @OverrideOnly
+        @AvailableSince("1.2.0")
+        @NotNull JsonElement intoLong(final long data);
+
+        /**
+         * Decodes a long from the provided {@link JsonElement}
+         *
+         * @param json The json to decode, never {@link JsonNull}
+         * @return The decoded long
+         */
+        @OverrideOnly
+        @AvailableSince("1.2.0")
+        long fromLong(@NotNull final JsonElement json);
+
+
+        @Override
+        default @NotNull Type type()
+        {
+            return Long.class;
+        }
+
+        @Override
+        default @NotNull JsonElement into(@Nullable final Long data)
+        {
+            return data == null ? JsonNull.INSTANCE : intoLong(data);
+        }
+
+        @Override
+        default @Nullable Long from(@NotNull final JsonElement json)
+        {
+            return json.isJsonNull() ? null : fromLong(json);
+        }
+
+    }
+
+    /**
+     * Represents a {@link JsonKey.Direct} whose value is a double, encoded and decoded without boxing
+     * <p>
+     * {@link JsonMap#selectDouble(JsonKey.DoubleKey, double)} and {@link JsonMap#insertDouble(JsonKey.DoubleKey, double)} use the primitive codec directly,
+     * the boxed codec of {@link JsonKey.Direct} delegates to it.
+     */
+    @AvailableSince("1.2.0")
+    interface DoubleKey extends Direct<Double>
+    {
+
+        /**
+         * Encodes the provided double into a {@link JsonElement}
+         *
+         * @param data The data to encode
+         * @return The encoded {@link JsonElement}
+         */
+        @OverrideOnly
+        @AvailableSince("1.2.0")
+        @NotNull JsonElement intoDouble(final double data);
+
+        /**
+         * Decodes a double from the provided {@link JsonElement}
+         *
+         * @param json The json to decode, never {@link JsonNull}
+         * @return The decoded double
+         */
+        @OverrideOnly
+        @AvailableSince("1.2.0")
+        double fromDouble(@NotNull final JsonElement json);
+
+
+        @Override
+        default @NotNull Type type()
+        {
+            return Double.class;
+        }
+
+        @Override
+        default @NotNull JsonElement into(@Nullable final Double data)
+        {
+            return data == null ? JsonNull.INSTANCE : intoDouble(data);
+        }
+
+        @Override
+        default @Nullable Double from(@NotNull final JsonElement json)
+        {
+            return json.isJsonNull() ? null : fromDouble(json);
+        }
+
+    }
+
 
     /**
      * @return The new {@link JsonKey} with the provided {@link Pxth} and {@link Class}
@@ -81,20 +276,7 @@ public interface JsonKey<T>
     static @NotNull <T> JsonKey<T> of(@NotNull final Pxth pxth,
                                       @NotNull final Class<T> type)
     {
-        return new JsonKey<>()
-        {
-            @Override
-            public @NotNull Pxth pxth()
-            {
-                return pxth;
-            }
-
-            @Override
-            public @NotNull Type type()
-            {
-                return type;
-            }
-        };
+        return new AdaptedJsonKey<>(pxth, type);
     }
 
     /**
@@ -105,20 +287,7 @@ public interface JsonKey<T>
     static @NotNull <T> JsonKey<T> of(@NotNull final Pxth pxth,
                                       @NotNull final TypeToken<T> type)
     {
-        return new JsonKey<>()
-        {
-            @Override
-            public @NotNull Pxth pxth()
-            {
-                return pxth;
-            }
-
-            @Override
-            public @NotNull Type type()
-            {
-                return type.getType();
-            }
-        };
+        return new AdaptedJsonKey<>(pxth, type.getType());
     }
 
 
@@ -202,4 +371,134 @@ public interface JsonKey<T>
         };
     }
 
+
+    /**
+     * @return The new {@link JsonKey.IntKey} with the provided {@link Pxth} that stores its value as a {@link JsonPrimitive}
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    static @NotNull IntKey ofInt(@NotNull final Pxth pxth)
+    {
+        return ofInt(pxth, JsonPrimitive::new, JsonElement::getAsInt);
+    }
+
+    /**
+     * @return The new {@link JsonKey.IntKey} with the provided {@link Pxth} that uses the provided into and from functions
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static @NotNull IntKey ofInt(@NotNull final Pxth pxth,
+
+                                 @NotNull final IntFunction<@NotNull JsonElement> into,
+                                 @NotNull final ToIntFunction<@NotNull JsonElement> from)
+    {
+        return new IntKey()
+        {
+            @Override
+            public @NotNull Pxth pxth()
+            {
+                return pxth;
+            }
+
+
+            @Override
+            public @NotNull JsonElement intoInt(final int data)
+            {
+                return into.apply(data);
+            }
+
+            @Override
+            public int fromInt(@NotNull final JsonElement json)
+            {
+                return from.applyAsInt(json);
+            }
+        };
+    }
+
+    /**
+     * @return The new {@link JsonKey.LongKey} with the provided {@link Pxth} that stores its value as a {@link JsonPrimitive}
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    static @NotNull LongKey ofLong(@NotNull final Pxth pxth)
+    {
+        return ofLong(pxth, JsonPrimitive::new, JsonElement::getAsLong);
+    }
+
+    /**
+     * @return The new {@link JsonKey.LongKey} with the provided {@link Pxth} that uses the provided into and from functions
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static @NotNull LongKey ofLong(@NotNull final Pxth pxth,
+
+                                   @NotNull final LongFunction<@NotNull JsonElement> into,
+                                   @NotNull final ToLongFunction<@NotNull JsonElement> from)
+    {
+        return new LongKey()
+        {
+            @Override
+            public @NotNull Pxth pxth()
+            {
+                return pxth;
+            }
+
+
+            @Override
+            public @NotNull JsonElement intoLong(final long data)
+            {
+                return into.apply(data);
+            }
+
+            @Override
+            public long fromLong(@NotNull final JsonElement json)
+            {
+                return from.applyAsLong(json);
+            }
+        };
+    }
+
+    /**
+     * @return The new {@link JsonKey.DoubleKey} with the provided {@link Pxth} that stores its value as a {@link JsonPrimitive}
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    static @NotNull DoubleKey ofDouble(@NotNull final Pxth pxth)
+    {
+        return ofDouble(pxth, JsonPrimitive::new, JsonElement::getAsDouble);
+    }
+
+    /**
+     * @return The new {@link JsonKey.DoubleKey} with the provided {@link Pxth} that uses the provided into and from functions
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static @NotNull DoubleKey ofDouble(@NotNull final Pxth pxth,
+
+                                       @NotNull final DoubleFunction<@NotNull JsonElement> into,
+                                       @NotNull final ToDoubleFunction<@NotNull JsonElement> from)
+    {
+        return new DoubleKey()
+        {
+            @Override
+            public @NotNull Pxth pxth()
+            {
+                return pxth;
+            }
+
+
+            @Override
+            public @NotNull JsonElement intoDouble(final double data)
+            {
+                return into.apply(data);
+            }
+
+            @Override
+            public double fromDouble(@NotNull final JsonElement json)
+            {
+                return from.applyAsDouble(json);
+            }
+        };
+    }
+
 }
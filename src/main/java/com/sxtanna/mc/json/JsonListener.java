@@ -0,0 +1,25 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * Receives the changes made within the path it is subscribed to
+ *
+ * @see ObservableJsonMap#listen(com.sxtanna.mc.json.pxth.Pxth, JsonListener)
+ */
+@FunctionalInterface
+@AvailableSince("1.2.0")
+public interface JsonListener
+{
+
+    /**
+     * @param changes The changes since the last delivery, in the order they were made
+     */
+    @AvailableSince("1.2.0")
+    void changed(@NotNull @Unmodifiable final List<JsonChange> changes);
+
+}
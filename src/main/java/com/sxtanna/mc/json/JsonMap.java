@@ -7,21 +7,34 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import com.google.gson.reflect.TypeToken;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * A simple (enough) interface designed for attachment to any object for storing any arbitrary json data
@@ -59,7 +72,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default @NotNull JsonElement select(@NotNull @Unmodifiable final List<String> path)
     {
-        return path.isEmpty() ? JsonNull.INSTANCE : find(data(), path);
+        return select(Pxth.of(path));
     }
 
     /**
@@ -71,40 +84,64 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default @NotNull JsonElement remove(@NotNull @Unmodifiable final List<String> path)
     {
-        if (path.isEmpty())
+        return remove(Pxth.of(path));
+    }
+
+    /**
+     * Insert a value at the provided path
+     *
+     * @return The replaced {@link JsonElement} stored in {@link JsonMap#data()} at the provided path,
+     * or {@link JsonNull#INSTANCE} if the path is empty or nothing was stored there
+     */
+    @AvailableSince("0.1.0")
+    default @NotNull JsonElement insert(@NotNull @Unmodifiable final List<String> path, @NotNull final JsonElement data)
+    {
+        return insert(Pxth.of(path), data);
+    }
+
+
+    /**
+     * @see JsonMap#select(List)
+     */
+    @AvailableSince("0.1.0")
+    default @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        return find(data(), pxth, pxth.size());
+    }
+
+    /**
+     * @see JsonMap#remove(List)
+     */
+    @AvailableSince("0.1.0")
+    default @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
         {
             return JsonNull.INSTANCE;
         }
 
         final JsonElement prev;
 
-        if (path.size() == 1)
+        if (pxth.size() == 1)
         {
-            prev = data().remove(path.get(0));
+            prev = data().remove(pxth.node(0).name());
         }
         else
         {
-            final var json = find(data(), path.subList(0, path.size() - 1));
+            final var json = find(data(), pxth, pxth.size() - 1);
+            final var node = pxth.node(pxth.size() - 1);
 
-            if (!json.isJsonArray() && !json.isJsonObject())
+            if (json.isJsonObject())
             {
-                return JsonNull.INSTANCE;
+                prev = json.getAsJsonObject().remove(node.name());
             }
-
-            if (!json.isJsonArray())
+            else if (json.isJsonArray() && node.indexed() && node.index() < json.getAsJsonArray().size())
             {
-                prev = json.getAsJsonObject().remove(path.get(path.size() - 1));
+                prev = json.getAsJsonArray().remove(node.index());
             }
             else
             {
-                try
-                {
-                    prev = json.getAsJsonArray().remove(Integer.parseInt(path.get(path.size() - 1)));
-                }
-                catch (final NumberFormatException ignored)
-                {
-                    return JsonNull.INSTANCE;
-                }
+                return JsonNull.INSTANCE;
             }
         }
 
@@ -112,62 +149,51 @@ public interface JsonMap
     }
 
     /**
-     * Insert a value at the provided path
-     *
-     * @return The replaced {@link JsonElement} stored in {@link JsonMap#data()} at the provided path,
-     * or {@link JsonNull#INSTANCE} if the path is empty or nothing was stored there
+     * @see JsonMap#insert(List, JsonElement)
      */
     @AvailableSince("0.1.0")
-    default @NotNull JsonElement insert(@NotNull @Unmodifiable final List<String> path, @NotNull final JsonElement data)
+    default @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
     {
-        if (path.isEmpty())
+        if (pxth.isEmpty())
         {
             return JsonNull.INSTANCE;
         }
 
         final JsonElement prev;
 
-        if (path.size() == 1)
+        if (pxth.size() == 1)
         {
-            prev = data().put(path.get(0), data);
+            prev = data().put(pxth.node(0).name(), data);
         }
         else
         {
-            final var json = find(data(), path.subList(0, path.size() - 1));
+            final var json = find(data(), pxth, pxth.size() - 1);
 
             if (json.isJsonObject() || json.isJsonArray())
             {
-                prev = push(path.get(path.size() - 1), json, data);
+                prev = push(pxth.node(pxth.size() - 1), json, data);
             }
             else
             {
-                var root = data().computeIfAbsent(path.get(0), $ -> new JsonObject());
+                var root = data().computeIfAbsent(pxth.node(0).name(), $ -> new JsonObject());
 
-                for (int i = 1; i < path.size() - 1; i++)
+                for (int i = 1; i < pxth.size() - 1; i++)
                 {
-                    if (!root.isJsonArray() && !root.isJsonObject())
-                    {
-                        return JsonNull.INSTANCE;
-                    }
-
-                    final var next = path.get(i);
+                    final var next = pxth.node(i);
 
                     JsonElement node;
 
                     if (root.isJsonObject())
                     {
-                        node = root.getAsJsonObject().get(next);
+                        node = root.getAsJsonObject().get(next.name());
+                    }
+                    else if (root.isJsonArray() && next.indexed() && next.index() < root.getAsJsonArray().size())
+                    {
+                        node = root.getAsJsonArray().get(next.index());
                     }
                     else
                     {
-                        try
-                        {
-                            node = root.getAsJsonArray().get(Integer.parseInt(next));
-                        }
-                        catch (final NumberFormatException ignored)
-                        {
-                            return JsonNull.INSTANCE;
-                        }
+                        return JsonNull.INSTANCE;
                     }
 
                     if (node != null)
@@ -178,27 +204,13 @@ public interface JsonMap
 
                     node = new JsonObject();
 
-                    if (root.isJsonObject())
-                    {
-                        root.getAsJsonObject().add(next, node);
-                    }
-                    else
-                    {
-                        try
-                        {
-                            root.getAsJsonArray().set(Integer.parseInt(next), node);
-                        }
-                        catch (final NumberFormatException ignored)
-                        {
-                            return JsonNull.INSTANCE;
-                        }
-                    }
+                    root.getAsJsonObject().add(next.name(), node);
 
                     root = node;
                 }
 
 
-                prev = push(path.get(path.size() - 1), root, data);
+                prev = push(pxth.node(pxth.size() - 1), root, data);
             }
         }
 
@@ -207,31 +219,319 @@ public interface JsonMap
 
 
     /**
-     * @see JsonMap#select(List)
+     * A counter that changes whenever this map may have removed or replaced one of its containers, or shifted one within an array
+     * <p>
+     * {@link JsonHandle}s keep the containers they resolve for as long as it is unchanged. The default implementation returns -1,
+     * which means this map does not track its structure, and handles bound to it resolve their path on every read.
+     * Writes made through {@link JsonMap#data()} are never tracked.
+     *
+     * @return The structural version of this map, or -1 if it is not tracked
      */
-    @AvailableSince("0.1.0")
-    default @NotNull JsonElement select(@NotNull final Pxth pxth)
+    @AvailableSince("1.2.0")
+    default long version()
     {
-        return select(pxth.path());
+        return -1L;
     }
 
+
     /**
-     * @see JsonMap#remove(List)
+     * Take a copy of this map, later changes to either map are not visible to the other
+     * <p>
+     * The default implementation copies every element, maps from {@link JsonMap#create()} share nested containers
+     * with the snapshot and only copy them once either side modifies them.
+     *
+     * @return The new {@link JsonMap} holding the current data of this map
      */
-    @AvailableSince("0.1.0")
-    default @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    @AvailableSince("1.2.0")
+    @Contract(" -> new")
+    default @NotNull JsonMap snapshot()
     {
-        return remove(pxth.path());
+        final var data = new LinkedHashMap<String, JsonElement>();
+
+        for (final var entry : data().entrySet())
+        {
+            data.put(entry.getKey(), entry.getValue().deepCopy());
+        }
+
+        return create(data);
     }
 
     /**
-     * @see JsonMap#insert(List, JsonElement)
+     * Replace all data in this map with the data from the provided snapshot
+     *
+     * @param snapshot The map to restore from, usually one returned by {@link JsonMap#snapshot()}
      */
-    @AvailableSince("0.1.0")
-    default @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    @AvailableSince("1.2.0")
+    default void restore(@NotNull final JsonMap snapshot)
+    {
+        if (snapshot == this)
+        {
+            return;
+        }
+
+        final var data = data();
+
+        data.clear();
+
+        for (final var entry : snapshot.data().entrySet())
+        {
+            data.put(entry.getKey(), entry.getValue().deepCopy());
+        }
+    }
+
+
+    /**
+     * @return A new, empty {@link JsonBatch}, which {@link JsonBatch#apply()} applies to this map
+     */
+    @AvailableSince("1.2.0")
+    @Contract(" -> new")
+    default @NotNull JsonBatch batch()
+    {
+        return new JsonBatch(this, false);
+    }
+
+    /**
+     * Apply every operation of the provided batch to this map
+     * <p>
+     * The default implementation walks the containers of {@link JsonMap#data()} directly, creating missing objects once for every
+     * operation beneath them. Implementations that guard or share their data apply the batch as a whole, ie. under one set of locks.
+     *
+     * @param batch The batch to apply, it may have been created by another map
+     * @return The batch that reverts the applied operations, bound to this map
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        return JsonBatch.apply(data(), batch, this);
+    }
+
+    /**
+     * @param patch A JSON Patch document, RFC 6902, using only the {@code add}, {@code replace}, and {@code remove} operations
+     * @return A new {@link JsonBatch} holding the operations of the patch in order, which {@link JsonBatch#apply()} applies to this map
+     * @throws IllegalArgumentException if the patch is malformed, targets the root, adds into an array, which would shift or append its elements, adds below a missing parent,
+     *                                  replaces or removes a missing path, or uses any other operation
+     * @see JsonBatch#toPatch()
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    default @NotNull JsonBatch batch(@NotNull final JsonArray patch)
+    {
+        return JsonBatch.patch(this, patch);
+    }
+
+    /**
+     * Apply every operation of the provided JSON Patch to this map, in order
+     *
+     * @see JsonMap#batch(JsonArray)
+     * @see JsonMap#apply(JsonBatch)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonBatch apply(@NotNull final JsonArray patch)
+    {
+        return apply(batch(patch));
+    }
+
+    /**
+     * Compare this map to the provided map
+     * <p>
+     * Elements are compared by reference before by value, so versions sharing unmodified subtrees, such as the snapshots of a
+     * {@link PersistentJsonMap}, are compared in time proportional to their differences.
+     *
+     * @param other The map to compare to
+     * @return A new {@link JsonBatch} that, once applied to this map, makes it equal to the provided map
+     * @see JsonBatch#toPatch()
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    default @NotNull JsonBatch diff(@NotNull final JsonMap other)
+    {
+        return JsonBatch.diff(this, data(), other.data());
+    }
+
+    /**
+     * Run the provided body against this map, committing all of its writes together, or none of them
+     * <p>
+     * The default implementation writes straight through to this map, recording the previous value of every write in an undo log,
+     * which is replayed in reverse if the body calls {@link JsonTransaction#rollback()} or throws. Thread safe implementations instead
+     * buffer the writes and publish them at once, and may run the body again if another thread modified what it read, so the body
+     * should have no effects outside of the transaction.
+     *
+     * @param body The body of the transaction
+     * @return True if the transaction was committed, false if it was rolled back
+     */
+    @AvailableSince("1.2.0")
+    default boolean transaction(@NotNull final Consumer<JsonTransaction> body)
+    {
+        final var tx = new JsonTransaction(this, null);
+
+        try
+        {
+            body.accept(tx);
+        }
+        catch (final Throwable ex)
+        {
+            tx.undo();
+            throw ex;
+        }
+
+        if (tx.isRollback())
+        {
+            tx.undo();
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * The paths modified by {@link JsonMap#insert(Pxth, JsonElement)}, {@link JsonMap#remove(Pxth)}, or {@link JsonMap#restore(JsonMap)}
+     * since the last {@link JsonMap#clearDirty()}, no path in the returned set is nested within another
+     * <p>
+     * The default implementation does not track modifications, it always returns {@link Pxth#NONE}, the root, marking everything as modified.
+     *
+     * @return A copy of the modified paths, empty if nothing has been modified
+     * @see PxthSet
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return Set.of(Pxth.NONE);
+    }
+
+    /**
+     * @return True if any path has been modified since the last {@link JsonMap#clearDirty()}
+     * @see JsonMap#dirtyPaths()
+     */
+    @AvailableSince("1.2.0")
+    default boolean isDirty()
+    {
+        return !dirtyPaths().isEmpty();
+    }
+
+    /**
+     * Forget every modified path
+     * <p>
+     * When persisting, call this before taking the {@link JsonMap#snapshot()} or calling {@link JsonMap#save(Writer)},
+     * so that modifications racing with the save are recorded again instead of lost.
+     *
+     * @see JsonMap#dirtyPaths()
+     */
+    @AvailableSince("1.2.0")
+    default void clearDirty()
+    {
+    }
+
+    /**
+     * Record the provided paths as modified again, ie. after a save of data captured following {@link JsonMap#clearDirty()} has failed
+     * <p>
+     * The default implementation does nothing, as it does not track modifications.
+     *
+     * @param paths The paths to record as modified
+     * @see JsonMap#dirtyPaths()
+     */
+    @AvailableSince("1.2.0")
+    default void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+    }
+
+
+    //<editor-fold desc="Save Methods">
+
+    /**
+     * Stream the data of this map to the provided {@link Writer} as a json object, member by member
+     *
+     * @param writer           The destination of the json object, it is flushed but not closed
+     * @param gson             The gson instance used to configure the writer, ie. pretty printing and null serialization
+     * @param exceptionHandler The handler for any caught exception during the saving process
+     * @return True if the whole object was written, false otherwise
+     */
+    @AvailableSince("1.2.0")
+    default boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            JsonStreams.write(writer, data(), gson);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @see JsonMap#save(Writer, Gson, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default boolean save(@NotNull final Writer writer, @NotNull final Gson gson)
+    {
+        return save(writer, gson, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonMap#save(Writer, Gson, Consumer)
+     * @see JsonMap#FALLBACK_GSON_REF
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default boolean save(@NotNull final Writer writer)
+    {
+        return save(writer, defaultGson(), PRINT_STACK_TRACE);
+    }
+
+    /**
+     * Stream the data of this map into a temporary file beside the provided {@link Path}, then move it over the target
+     * <p>
+     * The move is atomic where the file system supports it, so the target never holds a partially written object.
+     *
+     * @see JsonMap#save(Writer, Gson, Consumer)
+     */
+    @AvailableSince("1.2.0")
+    default boolean save(@NotNull final Path path, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            return JsonStreams.replace(path, temp ->
+            {
+                try (final var writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+                {
+                    return save(writer, gson, exceptionHandler);
+                }
+            });
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return false;
+    }
+
+    /**
+     * @see JsonMap#save(Path, Gson, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default boolean save(@NotNull final Path path, @NotNull final Gson gson)
+    {
+        return save(path, gson, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonMap#save(Path, Gson, Consumer)
+     * @see JsonMap#FALLBACK_GSON_REF
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default boolean save(@NotNull final Path path)
     {
-        return insert(pxth.path(), data);
+        return save(path, defaultGson(), PRINT_STACK_TRACE);
     }
+    //</editor-fold>
 
 
     //<editor-fold desc="Select Methods">
@@ -253,7 +553,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return eval(path, type, false, gson, exceptionHandler);
+        return eval(Pxth.of(path), type, false, gson, exceptionHandler);
     }
 
     /**
@@ -264,7 +564,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull @Unmodifiable final List<String> path, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return eval(path, type.getType(), false, gson, exceptionHandler);
+        return eval(Pxth.of(path), type.getType(), false, gson, exceptionHandler);
     }
 
     /**
@@ -273,7 +573,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return select(pxth.path(), type, gson, exceptionHandler);
+        return eval(pxth, type, false, gson, exceptionHandler);
     }
 
     /**
@@ -282,7 +582,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return select(pxth.path(), type, gson, exceptionHandler);
+        return eval(pxth, type.getType(), false, gson, exceptionHandler);
     }
 
     /**
@@ -293,7 +593,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final JsonKey<T> jKey, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return jKey instanceof JsonKey.Direct<T> direct ? select(direct, exceptionHandler) : eval(jKey.pxth().path(), jKey.type(), false, gson, exceptionHandler);
+        return jKey instanceof JsonKey.Direct<T> direct ? select(direct, exceptionHandler) : eval(jKey, false, gson, exceptionHandler);
     }
 
     /**
@@ -306,7 +606,7 @@ public interface JsonMap
     {
         try
         {
-            return jKey.from(select(jKey.pxth().path()));
+            return jKey.from(select(jKey.pxth()));
         }
         catch (final Throwable ex)
         {
@@ -347,7 +647,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson)
     {
-        return select(pxth.path(), type, gson);
+        return select(pxth, type, gson, PRINT_STACK_TRACE);
     }
 
     /**
@@ -357,7 +657,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson)
     {
-        return select(pxth.path(), type, gson);
+        return select(pxth, type, gson, PRINT_STACK_TRACE);
     }
 
     /**
@@ -411,7 +711,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return select(pxth.path(), type, exceptionHandler);
+        return select(pxth, type, defaultGson(), exceptionHandler);
     }
 
     /**
@@ -421,7 +721,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return select(pxth.path(), type, exceptionHandler);
+        return select(pxth, type, defaultGson(), exceptionHandler);
     }
 
     /**
@@ -468,7 +768,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final Class<T> type)
     {
-        return select(pxth.path(), type);
+        return select(pxth, type, defaultGson(), PRINT_STACK_TRACE);
     }
 
     /**
@@ -479,7 +779,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T select(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type)
     {
-        return select(pxth.path(), type);
+        return select(pxth, type, defaultGson(), PRINT_STACK_TRACE);
     }
 
     /**
@@ -514,7 +814,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return Optional.ofNullable(eval(path, type, false, gson, exceptionHandler));
+        return Optional.ofNullable(eval(Pxth.of(path), type, false, gson, exceptionHandler));
     }
 
     /**
@@ -525,7 +825,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull @Unmodifiable final List<String> path, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return Optional.ofNullable(eval(path, type.getType(), false, gson, exceptionHandler));
+        return Optional.ofNullable(eval(Pxth.of(path), type.getType(), false, gson, exceptionHandler));
     }
 
     /**
@@ -534,7 +834,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return selectOpt(pxth.path(), type, gson, exceptionHandler);
+        return Optional.ofNullable(eval(pxth, type, false, gson, exceptionHandler));
     }
 
     /**
@@ -543,7 +843,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return selectOpt(pxth.path(), type, gson, exceptionHandler);
+        return Optional.ofNullable(eval(pxth, type.getType(), false, gson, exceptionHandler));
     }
 
     /**
@@ -599,7 +899,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson)
     {
-        return selectOpt(pxth.path(), type, gson);
+        return selectOpt(pxth, type, gson, IGNORED_EXCEPTION);
     }
 
     /**
@@ -609,7 +909,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson)
     {
-        return selectOpt(pxth.path(), type, gson);
+        return selectOpt(pxth, type, gson, IGNORED_EXCEPTION);
     }
 
     /**
@@ -663,7 +963,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return selectOpt(pxth.path(), type, exceptionHandler);
+        return selectOpt(pxth, type, defaultGson(), exceptionHandler);
     }
 
     /**
@@ -673,7 +973,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return selectOpt(pxth.path(), type, exceptionHandler);
+        return selectOpt(pxth, type, defaultGson(), exceptionHandler);
     }
 
     /**
@@ -720,7 +1020,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type)
     {
-        return selectOpt(pxth.path(), type);
+        return selectOpt(pxth, type, defaultGson(), IGNORED_EXCEPTION);
     }
 
     /**
@@ -731,7 +1031,7 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> selectOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type)
     {
-        return selectOpt(pxth.path(), type);
+        return selectOpt(pxth, type, defaultGson(), IGNORED_EXCEPTION);
     }
 
     /**
@@ -748,62 +1048,167 @@ public interface JsonMap
 
     //</editor-fold>
 
-    //</editor-fold>
-
-
-    //<editor-fold desc="Remove Methods">
-
-    //<editor-fold desc="Remove Nullable">
-
-    //<editor-fold desc="Remove">
-    @AvailableSince("0.1.0")
-    default <T> @Nullable T remove(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        return eval(path, type, true, gson, exceptionHandler);
-    }
 
-    @AvailableSince("0.1.0")
-    default <T> @Nullable T remove(@NotNull @Unmodifiable final List<String> path, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        return eval(path, type.getType(), true, gson, exceptionHandler);
-    }
+    //<editor-fold desc="Select All">
 
-    @AvailableSince("0.1.0")
-    default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    /**
+     * Select and decode the values of many keys at once
+     * <p>
+     * Keys are sorted by path, and each container shared between consecutive paths is looked up only once,
+     * so reading {@code stats.kills}, {@code stats.deaths}, and {@code stats.time} resolves {@code stats} a single time.
+     *
+     * @param keys             The keys to select
+     * @param gson             The gson instance used to decode each value
+     * @param exceptionHandler The handler for any caught exception while decoding a value
+     * @return The {@link JsonSelection} holding the value decoded for each key
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonSelection selectAll(@NotNull final Collection<? extends JsonKey<?>> keys, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return remove(pxth.path(), type, gson, exceptionHandler);
-    }
+        final var selection = new JsonSelection(keys.size());
 
-    @AvailableSince("0.1.0")
-    default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        return remove(pxth.path(), type, gson, exceptionHandler);
-    }
+        final var sorted = keys.toArray(JsonKey<?>[]::new);
+        Arrays.sort(sorted, Comparator.comparing(JsonKey::pxth));
 
-    @AvailableSince("0.1.0")
-    default <T> @Nullable T remove(@NotNull final JsonKey<T> jKey, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        return jKey instanceof JsonKey.Direct<T> direct ? remove(direct, exceptionHandler) : eval(jKey.pxth().path(), jKey.type(), true, gson, exceptionHandler);
-    }
+        // trail[i] holds the element reached after the first i nodes of the previous path
+        var  trail = new JsonElement[8];
+        Pxth prev  = null;
 
-    @AvailableSince("0.1.0")
-    default <T> @Nullable T remove(@NotNull final JsonKey.Direct<T> jKey, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        try
-        {
-            return jKey.from(remove(jKey.pxth().path()));
-        }
-        catch (final Throwable ex)
+        for (final var jKey : sorted)
         {
-            exceptionHandler.accept(ex);
-        }
+            final var pxth = jKey.pxth();
 
-        return null;
-    }
-    //</editor-fold>
+            if (pxth.size() >= trail.length)
+            {
+                trail = Arrays.copyOf(trail, pxth.size() + 1);
+            }
 
+            var depth = prev == null ? 0 : shared(prev, pxth);
 
-    //<editor-fold desc="Remove with Default Exception Handler">
+            if (depth == 0 && !pxth.isEmpty())
+            {
+                trail[1] = select(new Pxth(List.of(pxth.node(0).name())));
+                depth    = 1;
+            }
+
+            for (int i = depth; i < pxth.size(); i++)
+            {
+                trail[i + 1] = JsonNodes.step(trail[i], pxth.node(i));
+            }
+
+            prev = pxth;
+
+            final var json = pxth.isEmpty() ? JsonNull.INSTANCE : trail[pxth.size()];
+
+            try
+            {
+                if (jKey instanceof JsonKey.Direct<?> direct)
+                {
+                    selection.put(jKey, direct.from(json));
+                }
+                else
+                {
+                    selection.put(jKey, json.isJsonNull() ? null : gson.fromJson(json, jKey.type()));
+                }
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.accept(ex);
+                selection.put(jKey, null);
+            }
+        }
+
+        return selection;
+    }
+
+    /**
+     * @see JsonMap#selectAll(Collection, Gson, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonSelection selectAll(@NotNull final Collection<? extends JsonKey<?>> keys, @NotNull final Gson gson)
+    {
+        return selectAll(keys, gson, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonMap#selectAll(Collection, Gson, Consumer)
+     * @see JsonMap#FALLBACK_GSON_REF
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonSelection selectAll(@NotNull final Collection<? extends JsonKey<?>> keys, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return selectAll(keys, defaultGson(), exceptionHandler);
+    }
+
+    /**
+     * @see JsonMap#selectAll(Collection, Gson, Consumer)
+     * @see JsonMap#FALLBACK_GSON_REF
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonSelection selectAll(@NotNull final Collection<? extends JsonKey<?>> keys)
+    {
+        return selectAll(keys, defaultGson(), PRINT_STACK_TRACE);
+    }
+    //</editor-fold>
+
+    //</editor-fold>
+
+
+    //<editor-fold desc="Remove Methods">
+
+    //<editor-fold desc="Remove Nullable">
+
+    //<editor-fold desc="Remove">
+    @AvailableSince("0.1.0")
+    default <T> @Nullable T remove(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return eval(Pxth.of(path), type, true, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> @Nullable T remove(@NotNull @Unmodifiable final List<String> path, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return eval(Pxth.of(path), type.getType(), true, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return eval(pxth, type, true, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return eval(pxth, type.getType(), true, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> @Nullable T remove(@NotNull final JsonKey<T> jKey, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return jKey instanceof JsonKey.Direct<T> direct ? remove(direct, exceptionHandler) : eval(jKey, true, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> @Nullable T remove(@NotNull final JsonKey.Direct<T> jKey, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            return jKey.from(remove(jKey.pxth()));
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="Remove with Default Exception Handler">
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<T> type, @NotNull final Gson gson)
     {
@@ -819,13 +1224,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson)
     {
-        return remove(pxth.path(), type, gson);
+        return remove(pxth, type, gson, PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson)
     {
-        return remove(pxth.path(), type, gson);
+        return remove(pxth, type, gson, PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
@@ -858,13 +1263,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return remove(pxth.path(), type, exceptionHandler);
+        return remove(pxth, type, defaultGson(), exceptionHandler);
     }
 
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return remove(pxth.path(), type, exceptionHandler);
+        return remove(pxth, type, defaultGson(), exceptionHandler);
     }
 
     @AvailableSince("0.1.0")
@@ -891,13 +1296,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final Class<T> type)
     {
-        return remove(pxth.path(), type);
+        return remove(pxth, type, defaultGson(), PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
     default <T> @Nullable T remove(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type)
     {
-        return remove(pxth.path(), type);
+        return remove(pxth, type, defaultGson(), PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
@@ -916,25 +1321,25 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return Optional.ofNullable(eval(path, type, true, gson, exceptionHandler));
+        return Optional.ofNullable(eval(Pxth.of(path), type, true, gson, exceptionHandler));
     }
 
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull @Unmodifiable final List<String> path, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return Optional.ofNullable(eval(path, type.getType(), true, gson, exceptionHandler));
+        return Optional.ofNullable(eval(Pxth.of(path), type.getType(), true, gson, exceptionHandler));
     }
 
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return removeOpt(pxth.path(), type, gson, exceptionHandler);
+        return Optional.ofNullable(eval(pxth, type, true, gson, exceptionHandler));
     }
 
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return removeOpt(pxth.path(), type, gson, exceptionHandler);
+        return Optional.ofNullable(eval(pxth, type.getType(), true, gson, exceptionHandler));
     }
 
     @AvailableSince("0.1.0")
@@ -967,13 +1372,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Gson gson)
     {
-        return removeOpt(pxth.path(), type, gson);
+        return removeOpt(pxth, type, gson, IGNORED_EXCEPTION);
     }
 
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Gson gson)
     {
-        return removeOpt(pxth.path(), type, gson);
+        return removeOpt(pxth, type, gson, IGNORED_EXCEPTION);
     }
 
     @AvailableSince("0.1.0")
@@ -1006,13 +1411,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return removeOpt(pxth.path(), type, exceptionHandler);
+        return removeOpt(pxth, type, defaultGson(), exceptionHandler);
     }
 
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        return removeOpt(pxth.path(), type, exceptionHandler);
+        return removeOpt(pxth, type, defaultGson(), exceptionHandler);
     }
 
     @AvailableSince("0.1.0")
@@ -1039,13 +1444,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final Class<T> type)
     {
-        return removeOpt(pxth.path(), type);
+        return removeOpt(pxth, type, defaultGson(), IGNORED_EXCEPTION);
     }
 
     @AvailableSince("0.1.0")
     default <T> @NotNull Optional<T> removeOpt(@NotNull final Pxth pxth, @NotNull final TypeToken<T> type)
     {
-        return removeOpt(pxth.path(), type);
+        return removeOpt(pxth, type, defaultGson(), IGNORED_EXCEPTION);
     }
 
     @AvailableSince("0.1.0")
@@ -1069,6 +1474,18 @@ public interface JsonMap
 
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull @Unmodifiable final List<String> path, @NotNull final Class<? extends T> type, @NotNull final T data, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        insert(Pxth.of(path), type, data, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> void insert(@NotNull final Pxth pxth, @NotNull final T data, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        insert(pxth, data.getClass(), data, gson, exceptionHandler);
+    }
+
+    @AvailableSince("0.1.0")
+    default <T> void insert(@NotNull final Pxth pxth, @NotNull final Class<? extends T> type, @NotNull final T data, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
         try
         {
@@ -1076,7 +1493,7 @@ public interface JsonMap
 
             if (json != null && !json.isJsonNull())
             {
-                insert(path, json);
+                insert(pxth, json);
             }
         }
         catch (final Throwable ex)
@@ -1085,18 +1502,6 @@ public interface JsonMap
         }
     }
 
-    @AvailableSince("0.1.0")
-    default <T> void insert(@NotNull final Pxth pxth, @NotNull final T data, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        insert(pxth.path(), data, gson, exceptionHandler);
-    }
-
-    @AvailableSince("0.1.0")
-    default <T> void insert(@NotNull final Pxth pxth, @NotNull final Class<? extends T> type, @NotNull final T data, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
-    {
-        insert(pxth.path(), type, data, gson, exceptionHandler);
-    }
-
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final JsonKey<T> jKey, @NotNull final T data, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
@@ -1112,7 +1517,7 @@ public interface JsonMap
 
                 if (json != null && !json.isJsonNull())
                 {
-                    insert(jKey.pxth().path(), json);
+                    insert(jKey.pxth(), json);
                 }
             }
             catch (final Throwable ex)
@@ -1131,7 +1536,7 @@ public interface JsonMap
 
             if (!json.isJsonNull())
             {
-                insert(jKey.pxth().path(), json);
+                insert(jKey.pxth(), json);
             }
         }
         catch (final Throwable ex)
@@ -1156,13 +1561,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final Pxth pxth, @NotNull final T data, @NotNull final Gson gson)
     {
-        insert(pxth.path(), data, gson);
+        insert(pxth, data, gson, PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final Pxth pxth, @NotNull final Class<? extends T> type, @NotNull final T data, @NotNull final Gson gson)
     {
-        insert(pxth.path(), type, data, gson);
+        insert(pxth, type, data, gson, PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
@@ -1193,13 +1598,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final Pxth pxth, @NotNull final T data, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        insert(pxth.path(), data, exceptionHandler);
+        insert(pxth, data, defaultGson(), exceptionHandler);
     }
 
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final Pxth pxth, @NotNull final Class<? extends T> type, @NotNull final T data, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        insert(pxth.path(), type, data, exceptionHandler);
+        insert(pxth, type, data, defaultGson(), exceptionHandler);
     }
 
     @AvailableSince("0.1.0")
@@ -1224,13 +1629,13 @@ public interface JsonMap
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final Pxth pxth, @NotNull final T data)
     {
-        insert(pxth.path(), data);
+        insert(pxth, data, defaultGson(), PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
     default <T> void insert(@NotNull final Pxth pxth, @NotNull final Class<? extends T> type, @NotNull final T data)
     {
-        insert(pxth.path(), type, data);
+        insert(pxth, type, data, defaultGson(), PRINT_STACK_TRACE);
     }
 
     @AvailableSince("0.1.0")
@@ -1241,9 +1646,355 @@ public interface JsonMap
     //</editor-fold>
 
 
-    private <T> @Nullable T eval(@NotNull @Unmodifiable final List<String> path, @NotNull final Type type, final boolean remove, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    //<editor-fold desc="Primitive Methods">
+
+    /**
+     * Select the int stored at the provided path, read directly from its {@link JsonPrimitive} without gson or boxing
+     *
+     * @param pxth The path of the value
+     * @param def  The value returned if the path is absent or does not hold a number
+     * @return The value stored at the provided path, or the default
+     */
+    @AvailableSince("1.2.0")
+    default int selectInt(@NotNull final Pxth pxth, final int def)
+    {
+        final var json = select(pxth);
+        return json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber() ? json.getAsInt() : def;
+    }
+
+    /**
+     * @see JsonMap#selectInt(Pxth, int)
+     */
+    @AvailableSince("1.2.0")
+    default int selectInt(@NotNull @Unmodifiable final List<String> path, final int def)
+    {
+        return selectInt(Pxth.of(path), def);
+    }
+
+    /**
+     * Select the long stored at the provided path, read directly from its {@link JsonPrimitive} without gson or boxing
+     *
+     * @param pxth The path of the value
+     * @param def  The value returned if the path is absent or does not hold a number
+     * @return The value stored at the provided path, or the default
+     */
+    @AvailableSince("1.2.0")
+    default long selectLong(@NotNull final Pxth pxth, final long def)
+    {
+        final var json = select(pxth);
+        return json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber() ? json.getAsLong() : def;
+    }
+
+    /**
+     * @see JsonMap#selectLong(Pxth, long)
+     */
+    @AvailableSince("1.2.0")
+    default long selectLong(@NotNull @Unmodifiable final List<String> path, final long def)
+    {
+        return selectLong(Pxth.of(path), def);
+    }
+
+    /**
+     * Select the double stored at the provided path, read directly from its {@link JsonPrimitive} without gson or boxing
+     *
+     * @param pxth The path of the value
+     * @param def  The value returned if the path is absent or does not hold a number
+     * @return The value stored at the provided path, or the default
+     */
+    @AvailableSince("1.2.0")
+    default double selectDouble(@NotNull final Pxth pxth, final double def)
+    {
+        final var json = select(pxth);
+        return json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber() ? json.getAsDouble() : def;
+    }
+
+    /**
+     * @see JsonMap#selectDouble(Pxth, double)
+     */
+    @AvailableSince("1.2.0")
+    default double selectDouble(@NotNull @Unmodifiable final List<String> path, final double def)
+    {
+        return selectDouble(Pxth.of(path), def);
+    }
+
+    /**
+     * Select the boolean stored at the provided path, read directly from its {@link JsonPrimitive} without gson or boxing
+     *
+     * @param pxth The path of the value
+     * @param def  The value returned if the path is absent or does not hold a boolean
+     * @return The value stored at the provided path, or the default
+     */
+    @AvailableSince("1.2.0")
+    default boolean selectBoolean(@NotNull final Pxth pxth, final boolean def)
+    {
+        final var json = select(pxth);
+        return json.isJsonPrimitive() && json.getAsJsonPrimitive().isBoolean() ? json.getAsBoolean() : def;
+    }
+
+    /**
+     * @see JsonMap#selectBoolean(Pxth, boolean)
+     */
+    @AvailableSince("1.2.0")
+    default boolean selectBoolean(@NotNull @Unmodifiable final List<String> path, final boolean def)
+    {
+        return selectBoolean(Pxth.of(path), def);
+    }
+
+    /**
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertInt(@NotNull final Pxth pxth, final int data)
+    {
+        return insert(pxth, new JsonPrimitive(data));
+    }
+
+    /**
+     * @see JsonMap#insertInt(Pxth, int)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertInt(@NotNull @Unmodifiable final List<String> path, final int data)
+    {
+        return insertInt(Pxth.of(path), data);
+    }
+
+    /**
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertLong(@NotNull final Pxth pxth, final long data)
+    {
+        return insert(pxth, new JsonPrimitive(data));
+    }
+
+    /**
+     * @see JsonMap#insertLong(Pxth, long)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertLong(@NotNull @Unmodifiable final List<String> path, final long data)
+    {
+        return insertLong(Pxth.of(path), data);
+    }
+
+    /**
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertDouble(@NotNull final Pxth pxth, final double data)
+    {
+        return insert(pxth, new JsonPrimitive(data));
+    }
+
+    /**
+     * @see JsonMap#insertDouble(Pxth, double)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertDouble(@NotNull @Unmodifiable final List<String> path, final double data)
+    {
+        return insertDouble(Pxth.of(path), data);
+    }
+
+    /**
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertBoolean(@NotNull final Pxth pxth, final boolean data)
+    {
+        return insert(pxth, new JsonPrimitive(data));
+    }
+
+    /**
+     * @see JsonMap#insertBoolean(Pxth, boolean)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertBoolean(@NotNull @Unmodifiable final List<String> path, final boolean data)
+    {
+        return insertBoolean(Pxth.of(path), data);
+    }
+
+    /**
+     * Select the int stored using the path of the provided key, decoded by its primitive codec without boxing
+     *
+     * @param jKey             The key of the value
+     * @param def              The value returned if the path is absent, or the codec fails
+     * @param exceptionHandler The handler for any exception thrown by the codec
+     * @return The decoded value, or the default
+     */
+    @AvailableSince("1.2.0")
+    default int selectInt(@NotNull final JsonKey.IntKey jKey, final int def, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var json = select(jKey.pxth());
+        if (json.isJsonNull())
+        {
+            return def;
+        }
+
+        try
+        {
+            return jKey.fromInt(json);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return def;
+    }
+
+    /**
+     * @see JsonMap#selectInt(JsonKey.IntKey, int, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default int selectInt(@NotNull final JsonKey.IntKey jKey, final int def)
+    {
+        return selectInt(jKey, def, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * Insert the provided int using the path of the provided key, encoded by its primitive codec without boxing
+     *
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertInt(@NotNull final JsonKey.IntKey jKey, final int data)
+    {
+        return insert(jKey.pxth(), jKey.intoInt(data));
+    }
+
+    /**
+     * Select the long stored using the path of the provided key, decoded by its primitive codec without boxing
+     *
+     * @param jKey             The key of the value
+     * @param def              The value returned if the path is absent, or the codec fails
+     * @param exceptionHandler The handler for any exception thrown by the codec
+     * @return The decoded value, or the default
+     */
+    @AvailableSince("1.2.0")
+    default long selectLong(@NotNull final JsonKey.LongKey jKey, final long def, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var json = select(jKey.pxth());
+        if (json.isJsonNull())
+        {
+            return def;
+        }
+
+        try
+        {
+            return jKey.fromLong(json);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return def;
+    }
+
+    /**
+     * @see JsonMap#selectLong(JsonKey.LongKey, long, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default long selectLong(@NotNull final JsonKey.LongKey jKey, final long def)
+    {
+        return selectLong(jKey, def, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * Insert the provided long using the path of the provided key, encoded by its primitive codec without boxing
+     *
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertLong(@NotNull final JsonKey.LongKey jKey, final long data)
+    {
+        return insert(jKey.pxth(), jKey.intoLong(data));
+    }
+
+    /**
+     * Select the double stored using the path of the provided key, decoded by its primitive codec without boxing
+     *
+     * @param jKey             The key of the value
+     * @param def              The value returned if the path is absent, or the codec fails
+     * @param exceptionHandler The handler for any exception thrown by the codec
+     * @return The decoded value, or the default
+     */
+    @AvailableSince("1.2.0")
+    default double selectDouble(@NotNull final JsonKey.DoubleKey jKey, final double def, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var json = select(jKey.pxth());
+        if (json.isJsonNull())
+        {
+            return def;
+        }
+
+        try
+        {
+            return jKey.fromDouble(json);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return def;
+    }
+
+    /**
+     * @see JsonMap#selectDouble(JsonKey.DoubleKey, double, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    default double selectDouble(@NotNull final JsonKey.DoubleKey jKey, final double def)
+    {
+        return selectDouble(jKey, def, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * Insert the provided double using the path of the provided key, encoded by its primitive codec without boxing
+     *
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    default @NotNull JsonElement insertDouble(@NotNull final JsonKey.DoubleKey jKey, final double data)
+    {
+        return insert(jKey.pxth(), jKey.intoDouble(data));
+    }
+
+    /**
+     * Add the provided delta to the number stored at the provided path, an absent or non numeric value counts as zero
+     * <p>
+     * The default implementation is a {@link JsonMap#selectLong(Pxth, long)} followed by an insert, thread safe implementations
+     * perform both atomically.
+     *
+     * @param pxth  The path of the counter
+     * @param delta The amount to add, which may be negative
+     * @return The value of the counter after the addition
+     */
+    @AvailableSince("1.2.0")
+    default long increment(@NotNull final Pxth pxth, final long delta)
+    {
+        final var next = selectLong(pxth, 0L) + delta;
+        insertLong(pxth, next);
+
+        return next;
+    }
+
+    /**
+     * @see JsonMap#increment(Pxth, long)
+     */
+    @AvailableSince("1.2.0")
+    default long increment(@NotNull @Unmodifiable final List<String> path, final long delta)
+    {
+        return increment(Pxth.of(path), delta);
+    }
+    //</editor-fold>
+
+
+    private <T> @Nullable T eval(@NotNull final Pxth pxth, @NotNull final Type type, final boolean remove, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        final var json = remove ? remove(path) : select(path);
+        final var json = remove ? remove(pxth) : select(pxth);
         if (json.isJsonNull())
         {
             return null;
@@ -1261,6 +2012,26 @@ public interface JsonMap
         return null;
     }
 
+    private <T> @Nullable T eval(@NotNull final JsonKey<T> jKey, final boolean remove, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var json = remove ? remove(jKey.pxth()) : select(jKey.pxth());
+        if (json.isJsonNull())
+        {
+            return null;
+        }
+
+        try
+        {
+            return gson.fromJson(json, jKey.type());
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+
 
     /**
      * @return The new {@link JsonMap} using a {@link LinkedHashMap}
@@ -1279,8 +2050,98 @@ public interface JsonMap
     @Contract(value = "_ -> new", pure = true)
     static @NotNull JsonMap create(@NotNull final Map<String, JsonElement> data)
     {
-        return () -> data;
+        return new SimpleJsonMap(data);
+    }
+
+
+    //<editor-fold desc="Load Methods">
+
+    /**
+     * Stream a json object from the provided {@link Reader} directly into a new {@link JsonMap}
+     *
+     * @param reader           The source of the json object, it is not closed
+     * @param filter           Tested against the path of every member, members it rejects are skipped instead of parsed, or null to load everything
+     * @param exceptionHandler The handler for any caught exception during the loading process
+     * @return The new {@link JsonMap} holding the loaded data, or null if the loading process fails
+     */
+    @AvailableSince("1.2.0")
+    static @Nullable JsonMap load(@NotNull final Reader reader, @Nullable final Predicate<Pxth> filter, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var data = new LinkedHashMap<String, JsonElement>();
+
+        try
+        {
+            JsonStreams.read(reader, data, defaultGson(), filter);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+            return null;
+        }
+
+        return create(data);
+    }
+
+    /**
+     * @see JsonMap#load(Reader, Predicate, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    static @Nullable JsonMap load(@NotNull final Reader reader, @Nullable final Predicate<Pxth> filter)
+    {
+        return load(reader, filter, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonMap#load(Reader, Predicate, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    static @Nullable JsonMap load(@NotNull final Reader reader)
+    {
+        return load(reader, null, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * Stream a json object from the file at the provided {@link Path} directly into a new {@link JsonMap}
+     *
+     * @see JsonMap#load(Reader, Predicate, Consumer)
+     */
+    @AvailableSince("1.2.0")
+    static @Nullable JsonMap load(@NotNull final Path path, @Nullable final Predicate<Pxth> filter, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try (final var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            return load(reader, filter, exceptionHandler);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * @see JsonMap#load(Path, Predicate, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    static @Nullable JsonMap load(@NotNull final Path path, @Nullable final Predicate<Pxth> filter)
+    {
+        return load(path, filter, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see JsonMap#load(Path, Predicate, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    static @Nullable JsonMap load(@NotNull final Path path)
+    {
+        return load(path, null, PRINT_STACK_TRACE);
     }
+    //</editor-fold>
 
 
     //<editor-fold desc="Extract Methods">
@@ -1288,7 +2149,7 @@ public interface JsonMap
     //<editor-fold desc="Extract Nullable">
     static <T> @Nullable T extract(@NotNull final Map<String, JsonElement> data, @NotNull final JsonKey<T> key, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        final var json = find(data, key.pxth().path());
+        final var json = find(data, key.pxth(), key.pxth().size());
         if (json.isJsonNull())
         {
             return null;
@@ -1320,7 +2181,7 @@ public interface JsonMap
 
         try
         {
-            return direct.from(find(data, key.pxth().path()));
+            return direct.from(find(data, key.pxth(), key.pxth().size()));
         }
         catch (final Throwable ex)
         {
@@ -1340,7 +2201,7 @@ public interface JsonMap
     //<editor-fold desc="Extract Optional">
     static <T> @NotNull Optional<T> extractOpt(@NotNull final Map<String, JsonElement> data, @NotNull final JsonKey<T> key, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
     {
-        final var json = find(data, key.pxth().path());
+        final var json = find(data, key.pxth(), key.pxth().size());
         if (json.isJsonNull())
         {
             return Optional.empty();
@@ -1372,7 +2233,7 @@ public interface JsonMap
 
         try
         {
-            return Optional.ofNullable(direct.from(find(data, key.pxth().path())));
+            return Optional.ofNullable(direct.from(find(data, key.pxth(), key.pxth().size())));
         }
         catch (final Throwable ex)
         {
@@ -1397,76 +2258,48 @@ public interface JsonMap
         return gson != null ? gson : GSON;
     }
 
-    private static @NotNull JsonElement find(@NotNull final Map<String, JsonElement> data, @NotNull @Unmodifiable final List<String> path)
+    /**
+     * @return The amount of leading keys the provided paths have in common
+     */
+    private static int shared(@NotNull final Pxth a, @NotNull final Pxth b)
     {
-        if (path.isEmpty())
-        {
-            return JsonNull.INSTANCE;
-        }
-
-        var json = data.get(path.get(0));
-
-        if (json == null || path.size() == 1 || (!json.isJsonArray() && !json.isJsonObject()))
-        {
-            return json != null ? json : JsonNull.INSTANCE;
-        }
+        final var size = Math.min(a.size(), b.size());
 
-        for (int i = 1; i < path.size(); i++)
+        for (int i = 0; i < size; i++)
         {
-            if (json == null || (!json.isJsonArray() && !json.isJsonObject()))
+            if (!a.node(i).name().equals(b.node(i).name()))
             {
-                return json != null ? json : JsonNull.INSTANCE;
-            }
-
-            final var next = path.get(i);
-
-            if (!json.isJsonArray())
-            {
-                json = json.getAsJsonObject().get(next);
-            }
-            else
-            {
-                try
-                {
-                    json = json.getAsJsonArray().get(Integer.parseInt(next));
-                }
-                catch (final NumberFormatException ignored)
-                {
-                    return JsonNull.INSTANCE;
-                }
+                return i;
             }
         }
 
-        return json != null ? json : JsonNull.INSTANCE;
+        return size;
     }
 
-    private static @NotNull JsonElement push(@NotNull final String name, @NotNull final JsonElement json, @NotNull final JsonElement data)
+    private static @NotNull JsonElement find(@NotNull final Map<String, JsonElement> data, @NotNull final Pxth pxth, final int depth)
     {
-        if (!json.isJsonArray() && !json.isJsonObject())
-        {
-            return JsonNull.INSTANCE;
-        }
+        return depth <= 0 ? JsonNull.INSTANCE : JsonNodes.find(data.get(pxth.node(0).name()), pxth, 1, depth);
+    }
 
+    private static @NotNull JsonElement push(@NotNull final Pxth.Node node, @NotNull final JsonElement json, @NotNull final JsonElement data)
+    {
         final JsonElement prev;
 
         if (json.isJsonObject())
         {
             final var jobj = json.getAsJsonObject();
 
-            prev = jobj.remove(name);
+            prev = jobj.remove(node.name());
 
-            jobj.add(name, data);
+            jobj.add(node.name(), data);
+        }
+        else if (json.isJsonArray() && node.indexed() && node.index() < json.getAsJsonArray().size())
+        {
+            prev = json.getAsJsonArray().set(node.index(), data);
         }
         else
         {
-            try
-            {
-                prev = json.getAsJsonArray().set(Integer.parseInt(name), data);
-            }
-            catch (final NumberFormatException ignored)
-            {
-                return JsonNull.INSTANCE;
-            }
+            return JsonNull.INSTANCE;
         }
 
         return prev != null ? prev : JsonNull.INSTANCE;
@@ -0,0 +1,415 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
+
+import com.google.gson.Gson;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Saves {@link JsonMap} instances to disk off the calling thread
+ * <ul>
+ *   <li>The calling thread only takes a {@link JsonMap#snapshot()}, serialization and file replacement happen on the executor.</li>
+ *   <li>Saves of the same {@link Path} are coalesced, a save requested while another is queued replaces its data and shares its future.</li>
+ *   <li>At most one save of each {@link Path} runs at a time, and a save requested while one runs is queued behind it.</li>
+ *   <li>Maps that are not {@link JsonMap#isDirty()} are not saved again.</li>
+ *   <li>If a save fails, the paths it captured are marked dirty again through {@link JsonMap#markDirty(java.util.Collection)}, so the next save retries them.</li>
+ * </ul>
+ *
+ * @see JsonMapWriteBehind#create()
+ * @see JsonMapWriteBehind#create(int)
+ * @see JsonMapWriteBehind#create(Executor, Consumer)
+ */
+@AvailableSince("1.2.0")
+public final class JsonMapWriteBehind implements AutoCloseable
+{
+
+    /**
+     * The default maximum amount of saves running at once
+     */
+    @AvailableSince("1.2.0")
+    public static final int DEFAULT_PARALLELISM = 4;
+
+
+    @NotNull
+    private final Executor            executor;
+    @Nullable
+    private final ExecutorService     owned;
+    @NotNull
+    private final Consumer<Throwable> exceptionHandler;
+    @NotNull
+    private final Map<Path, Slot>     slots = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+
+    private JsonMapWriteBehind(@NotNull final Executor executor, @Nullable final ExecutorService owned, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        this.executor         = executor;
+        this.owned            = owned;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+
+    /**
+     * Queue a save of the provided map to the provided path
+     *
+     * @param map  The map to save, its dirty paths are cleared once its data has been captured
+     * @param path The file to replace
+     * @param gson The gson instance used to configure the writer
+     * @return The future completed with the result of {@link JsonMap#save(Path, Gson, Consumer)} once this data, or newer data, has been saved
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull CompletableFuture<Boolean> save(@NotNull final JsonMap map, @NotNull final Path path, @NotNull final Gson gson)
+    {
+        if (this.closed)
+        {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("write behind is closed"));
+        }
+
+        if (!map.isDirty())
+        {
+            // nothing to write, wait on whatever is still in flight
+            final var slot = this.slots.get(path);
+            return slot != null ? slot.pending() : CompletableFuture.completedFuture(true);
+        }
+
+        // cleared before capturing, so modifications racing with the capture are recorded again
+        final var dirty = map.dirtyPaths();
+        map.clearDirty();
+
+        final var data = map.snapshot();
+
+        final var result = new Object()
+        {
+            CompletableFuture<Boolean> future;
+            boolean                    submit;
+        };
+
+        this.slots.compute(path, (key, slot) ->
+        {
+            if (slot == null)
+            {
+                slot = new Slot();
+            }
+
+            if (slot.source != map)
+            {
+                // the data of another map is replaced, and so are the paths it would restore
+                slot.source = map;
+                slot.dirty  = new PxthSet();
+            }
+
+            slot.map  = data;
+            slot.gson = gson;
+            slot.dirty.addAll(dirty);
+
+            if (slot.queued == null)
+            {
+                slot.queued = new CompletableFuture<>();
+                result.submit = slot.active == null;
+            }
+
+            result.future = slot.queued;
+            return slot;
+        });
+
+        if (result.submit)
+        {
+            submit(path);
+        }
+
+        return result.future;
+    }
+
+    /**
+     * @see JsonMapWriteBehind#save(JsonMap, Path, Gson)
+     * @see JsonMap#FALLBACK_GSON_REF
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull CompletableFuture<Boolean> save(@NotNull final JsonMap map, @NotNull final Path path)
+    {
+        final var gson = JsonMap.FALLBACK_GSON_REF.get();
+        return save(map, path, gson != null ? gson : JsonMap.GSON);
+    }
+
+    /**
+     * @return The future completed once every save queued or running at the time of this call has finished
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull CompletableFuture<Void> flushAll()
+    {
+        final var futures = new ArrayList<CompletableFuture<Boolean>>();
+
+        for (final var path : this.slots.keySet())
+        {
+            this.slots.computeIfPresent(path, (key, slot) ->
+            {
+                if (slot.active != null)
+                {
+                    futures.add(slot.active);
+                }
+                if (slot.queued != null)
+                {
+                    futures.add(slot.queued);
+                }
+
+                return slot;
+            });
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Stop accepting saves, wait for every queued save to finish, then shut down the executor if it was created by this instance
+     */
+    @Override
+    public void close()
+    {
+        this.closed = true;
+
+        flushAll().join();
+
+        if (this.owned != null)
+        {
+            this.owned.shutdown();
+        }
+    }
+
+
+    private void submit(@NotNull final Path path)
+    {
+        try
+        {
+            this.executor.execute(() -> flush(path));
+        }
+        catch (final RejectedExecutionException ex)
+        {
+            final var slot = this.slots.remove(path);
+            if (slot != null && slot.queued != null)
+            {
+                if (slot.source != null)
+                {
+                    slot.source.markDirty(slot.dirty);
+                }
+
+                slot.queued.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void flush(@NotNull final Path path)
+    {
+        final var taken = new Object()
+        {
+            JsonMap                    map;
+            JsonMap                    source;
+            Set<Pxth>                  dirty;
+            Gson                       gson;
+            CompletableFuture<Boolean> future;
+        };
+
+        this.slots.computeIfPresent(path, (key, slot) ->
+        {
+            taken.map    = slot.map;
+            taken.source = slot.source;
+            taken.dirty  = slot.dirty;
+            taken.gson   = slot.gson;
+            taken.future = slot.active = slot.queued;
+
+            slot.map    = null;
+            slot.source = null;
+            slot.dirty  = new PxthSet();
+            slot.gson   = null;
+            slot.queued = null;
+
+            return slot;
+        });
+
+        if (taken.future == null)
+        {
+            return;
+        }
+
+        try
+        {
+            final var saved = taken.map.save(path, taken.gson, this.exceptionHandler);
+
+            if (!saved)
+            {
+                taken.source.markDirty(taken.dirty);
+            }
+
+            taken.future.complete(saved);
+        }
+        catch (final Throwable ex)
+        {
+            taken.source.markDirty(taken.dirty);
+            taken.future.completeExceptionally(ex);
+        }
+
+        final var again = new boolean[1];
+
+        this.slots.computeIfPresent(path, (key, slot) ->
+        {
+            slot.active = null;
+
+            if (slot.queued == null)
+            {
+                return null;
+            }
+
+            again[0] = true;
+            return slot;
+        });
+
+        if (again[0])
+        {
+            submit(path);
+        }
+    }
+
+
+    /**
+     * @return The new {@link JsonMapWriteBehind} using virtual threads where available, running at most {@link JsonMapWriteBehind#DEFAULT_PARALLELISM} saves at once
+     */
+    @AvailableSince("1.2.0")
+    @Contract(" -> new")
+    public static @NotNull JsonMapWriteBehind create()
+    {
+        return create(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param parallelism The maximum amount of saves running at once
+     * @return The new {@link JsonMapWriteBehind} using virtual threads where available, otherwise a fixed pool of daemon threads
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    public static @NotNull JsonMapWriteBehind create(final int parallelism)
+    {
+        if (parallelism <= 0)
+        {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+
+        final var virtual = virtualExecutor();
+
+        if (virtual != null)
+        {
+            final var permits = new Semaphore(parallelism);
+
+            final Executor bounded = task -> virtual.execute(() ->
+            {
+                permits.acquireUninterruptibly();
+
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    permits.release();
+                }
+            });
+
+            return new JsonMapWriteBehind(bounded, virtual, JsonMap.PRINT_STACK_TRACE);
+        }
+
+        final var count = new AtomicInteger();
+        final var fixed = Executors.newFixedThreadPool(parallelism, task ->
+        {
+            final var thread = new Thread(task, "json-write-behind-" + count.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        return new JsonMapWriteBehind(fixed, fixed, JsonMap.PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @param executor         The executor running each save, it is not shut down by {@link JsonMapWriteBehind#close()}
+     * @param exceptionHandler The handler for any caught exception during a save
+     * @return The new {@link JsonMapWriteBehind} using the provided executor
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_, _ -> new")
+    public static @NotNull JsonMapWriteBehind create(@NotNull final Executor executor, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return new JsonMapWriteBehind(executor, null, exceptionHandler);
+    }
+
+
+    private static @Nullable ExecutorService virtualExecutor()
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (final ReflectiveOperationException ignored)
+        {
+            return null;
+        }
+    }
+
+
+    private static final class Slot
+    {
+
+        @Nullable
+        private JsonMap                    map;
+        /**
+         * The map the queued data was captured from
+         */
+        @Nullable
+        private JsonMap                    source;
+        /**
+         * The paths cleared from the source when the queued data was captured, marked dirty again if its save fails
+         */
+        @NotNull
+        private PxthSet                    dirty = new PxthSet();
+        @Nullable
+        private Gson                       gson;
+        /**
+         * Completed by the save that has not started yet
+         */
+        @Nullable
+        private CompletableFuture<Boolean> queued;
+        /**
+         * Completed by the save currently running
+         */
+        @Nullable
+        private CompletableFuture<Boolean> active;
+
+
+        /**
+         * Read without the slot's key being locked, so this may race with a save finishing, which at worst waits on a completed future
+         */
+        private @NotNull CompletableFuture<Boolean> pending()
+        {
+            return this.queued != null ? this.queued : this.active != null ? this.active : CompletableFuture.completedFuture(true);
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+
+/**
+ * Traversal and copying helpers shared by the {@link JsonMap} implementations
+ */
+final class JsonNodes
+{
+
+    private JsonNodes()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+
+    /**
+     * Walk from the provided element along the nodes of the path in {@code [from, depth)}
+     *
+     * @return The element reached, the first non container encountered, or {@link JsonNull#INSTANCE} if the path is missing
+     */
+    static @NotNull JsonElement find(@Nullable JsonElement json, @NotNull final Pxth pxth, final int from, final int depth)
+    {
+        for (int i = from; i < depth; i++)
+        {
+            if (json == null)
+            {
+                return JsonNull.INSTANCE;
+            }
+
+            if (json.isJsonObject())
+            {
+                json = json.getAsJsonObject().get(pxth.node(i).name());
+            }
+            else if (json.isJsonArray())
+            {
+                json = child(json.getAsJsonArray(), pxth.node(i));
+            }
+            else
+            {
+                return json;
+            }
+        }
+
+        return json != null ? json : JsonNull.INSTANCE;
+    }
+
+
+    /**
+     * Take a single step of {@link JsonNodes#find(JsonElement, Pxth, int, int)}
+     *
+     * @return The child under the provided node, the element itself if it is not a container, or {@link JsonNull#INSTANCE} if the child is missing
+     */
+    static @NotNull JsonElement step(@NotNull final JsonElement json, @NotNull final Pxth.Node node)
+    {
+        if (!json.isJsonObject() && !json.isJsonArray())
+        {
+            return json;
+        }
+
+        final var next = child(json, node);
+        return next != null ? next : JsonNull.INSTANCE;
+    }
+
+
+    /**
+     * @return The element stored in the provided container under the provided node, or null if absent
+     */
+    static @Nullable JsonElement child(@NotNull final JsonElement json, @NotNull final Pxth.Node node)
+    {
+        if (json.isJsonObject())
+        {
+            return json.getAsJsonObject().get(node.name());
+        }
+
+        if (json.isJsonArray())
+        {
+            return child(json.getAsJsonArray(), node);
+        }
+
+        return null;
+    }
+
+    static @Nullable JsonElement child(@NotNull final JsonArray json, @NotNull final Pxth.Node node)
+    {
+        return node.indexed() && node.index() < json.size() ? json.get(node.index()) : null;
+    }
+
+    /**
+     * @return The element stored exactly at the provided path, which may be {@link JsonNull}, or null if the path is absent or the root
+     */
+    static @Nullable JsonElement stored(@NotNull final Map<String, JsonElement> data, @NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            return null;
+        }
+
+        final var root = data.get(pxth.node(0).name());
+        if (root == null || pxth.size() == 1)
+        {
+            return root;
+        }
+
+        return child(find(root, pxth, 1, pxth.size() - 1), pxth.node(pxth.size() - 1));
+    }
+
+
+    /**
+     * @return A new container holding the same children as the provided container
+     */
+    static @NotNull JsonElement copy(@NotNull final JsonElement json)
+    {
+        if (json.isJsonObject())
+        {
+            final var copy = new JsonObject();
+
+            for (final var entry : json.getAsJsonObject().entrySet())
+            {
+                copy.add(entry.getKey(), entry.getValue());
+            }
+
+            return copy;
+        }
+
+        if (json.isJsonArray())
+        {
+            final var jarr = json.getAsJsonArray();
+            final var copy = new JsonArray(jarr.size());
+
+            copy.addAll(jarr);
+
+            return copy;
+        }
+
+        return json;
+    }
+
+}
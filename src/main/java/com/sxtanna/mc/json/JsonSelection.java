@@ -0,0 +1,79 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The decoded values of many {@link JsonKey}s, selected together by {@link JsonMap#selectAll(Collection, com.google.gson.Gson, java.util.function.Consumer)}
+ */
+@AvailableSince("1.2.0")
+public final class JsonSelection
+{
+
+    @NotNull
+    private final Map<JsonKey<?>, Object> values;
+
+
+    JsonSelection(final int size)
+    {
+        this.values = new HashMap<>(Math.max(4, size * 2));
+    }
+
+
+    /**
+     * @param jKey The key to look up, it must have been part of the selection
+     * @return The value decoded for the key, or null if it was absent or could not be decoded
+     * @throws IllegalArgumentException if the key was not part of the selection
+     */
+    @AvailableSince("1.2.0")
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(@NotNull final JsonKey<T> jKey)
+    {
+        if (!this.values.containsKey(jKey))
+        {
+            throw new IllegalArgumentException("key was not selected: " + jKey.pxth());
+        }
+
+        return (T) this.values.get(jKey);
+    }
+
+    /**
+     * @see JsonSelection#get(JsonKey)
+     */
+    @AvailableSince("1.2.0")
+    public <T> @NotNull Optional<T> getOpt(@NotNull final JsonKey<T> jKey)
+    {
+        return Optional.ofNullable(get(jKey));
+    }
+
+    /**
+     * @return True if the key was part of the selection
+     */
+    @AvailableSince("1.2.0")
+    public boolean contains(@NotNull final JsonKey<?> jKey)
+    {
+        return this.values.containsKey(jKey);
+    }
+
+    /**
+     * @return The amount of keys in the selection
+     */
+    @AvailableSince("1.2.0")
+    public int size()
+    {
+        return this.values.size();
+    }
+
+
+    void put(@NotNull final JsonKey<?> jKey, @Nullable final Object value)
+    {
+        this.values.put(jKey, value);
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Streaming helpers used to move a {@link JsonMap} to and from files without building the whole document first
+ */
+final class JsonStreams
+{
+
+    private JsonStreams()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+
+    /**
+     * Read a json object from the reader, placing each of its members directly into the provided map
+     *
+     * @param filter Tested against every member, members it rejects are skipped without being parsed, or null to read everything
+     */
+    static void read(@NotNull final Reader source, @NotNull final Map<String, JsonElement> data, @NotNull final Gson gson, @Nullable final Predicate<Pxth> filter) throws IOException
+    {
+        final var adapter = gson.getAdapter(JsonElement.class);
+        final var reader  = new JsonReader(source);
+
+        // match JsonParser, which reads leniently
+        reader.setLenient(true);
+
+        reader.beginObject();
+
+        while (reader.hasNext())
+        {
+            final var name = reader.nextName();
+
+            if (filter == null)
+            {
+                data.put(name, adapter.read(reader));
+                continue;
+            }
+
+            final var pxth = Pxth.of(new String[]{name});
+
+            if (!filter.test(pxth))
+            {
+                reader.skipValue();
+            }
+            else
+            {
+                data.put(name, read(reader, pxth, adapter, filter));
+            }
+        }
+
+        reader.endObject();
+    }
+
+    private static @NotNull JsonElement read(@NotNull final JsonReader reader, @NotNull final Pxth pxth, @NotNull final TypeAdapter<JsonElement> adapter, @NotNull final Predicate<Pxth> filter) throws IOException
+    {
+        switch (reader.peek())
+        {
+            case BEGIN_OBJECT ->
+            {
+                final var json = new JsonObject();
+
+                reader.beginObject();
+
+                while (reader.hasNext())
+                {
+                    final var name = reader.nextName();
+                    final var next = pxth.child(name);
+
+                    if (!filter.test(next))
+                    {
+                        reader.skipValue();
+                    }
+                    else
+                    {
+                        json.add(name, read(reader, next, adapter, filter));
+                    }
+                }
+
+                reader.endObject();
+
+                return json;
+            }
+            case BEGIN_ARRAY ->
+            {
+                final var json = new JsonArray();
+
+                reader.beginArray();
+
+                // arrays keep every element so the indices of the remaining elements stay the same
+                for (int i = 0; reader.hasNext(); i++)
+                {
+                    json.add(read(reader, pxth.child(Integer.toString(i)), adapter, filter));
+                }
+
+                reader.endArray();
+
+                return json;
+            }
+            default ->
+            {
+                return adapter.read(reader);
+            }
+        }
+    }
+
+
+    /**
+     * Write the provided map as a json object, one member at a time, through a writer configured by the provided gson
+     */
+    static void write(@NotNull final Writer target, @NotNull final Map<String, JsonElement> data, @NotNull final Gson gson) throws IOException
+    {
+        final var adapter = gson.getAdapter(JsonElement.class);
+        final var writer  = gson.newJsonWriter(target);
+
+        // lenient like Gson#toJson, so special floating point values are written as they always were
+        writer.setLenient(true);
+
+        writer.beginObject();
+
+        for (final var entry : data.entrySet())
+        {
+            writer.name(entry.getKey());
+            adapter.write(writer, entry.getValue());
+        }
+
+        writer.endObject();
+        writer.flush();
+    }
+
+
+    /**
+     * Produce a temporary file beside the target, force it to the device, then move it over the target, atomically where the file system supports it
+     *
+     * @return True if the target was replaced, false if the output declined to produce the file
+     */
+    static boolean replace(@NotNull final Path path, @NotNull final Output output) throws IOException
+    {
+        final var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        final var temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try
+        {
+            if (!output.write(temp))
+            {
+                return false;
+            }
+
+            // forced to the device first, so a crash can not keep the move while losing the data it points to
+            try (final var channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+            {
+                channel.force(true);
+            }
+
+            try
+            {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (final AtomicMoveNotSupportedException ignored)
+            {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+
+        return true;
+    }
+
+
+    @FunctionalInterface
+    interface Output
+    {
+
+        /**
+         * @param temp The temporary file to write into
+         * @return True if the file was written and should replace the target
+         */
+        boolean write(@NotNull final Path temp) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The view of a {@link JsonMap} given to the body of {@link JsonMap#transaction(java.util.function.Consumer)}
+ * <ul>
+ *   <li>Reads through a transaction see every write made earlier in the same transaction.</li>
+ *   <li>Writes are either all committed when the body returns, or none of them are if the body calls {@link JsonTransaction#rollback()} or throws.</li>
+ *   <li>A transaction must not be used once its body has returned.</li>
+ * </ul>
+ */
+@AvailableSince("1.2.0")
+public final class JsonTransaction
+{
+
+    @NotNull
+    private final JsonMap         view;
+    /**
+     * The writes to publish on commit, or null if writes go straight through to the map and are reverted from the undo log instead
+     */
+    @Nullable
+    private final JsonBatch       log;
+    @NotNull
+    private final List<JsonBatch> undo    = new ArrayList<>();
+    @NotNull
+    private final Set<String>     touched = new HashSet<>();
+
+    private boolean rollback;
+
+
+    JsonTransaction(@NotNull final JsonMap view, @Nullable final JsonBatch log)
+    {
+        this.view = view;
+        this.log  = log;
+    }
+
+
+    /**
+     * @see JsonMap#select(Pxth)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        touch(pxth);
+        return this.view.select(pxth);
+    }
+
+    /**
+     * @see JsonMap#select(List)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement select(@NotNull @Unmodifiable final List<String> path)
+    {
+        return select(Pxth.of(path));
+    }
+
+    /**
+     * @see JsonMap#remove(Pxth)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        touch(pxth);
+
+        if (this.log != null)
+        {
+            this.log.remove(pxth);
+            return this.view.remove(pxth);
+        }
+
+        return write(this.view.batch().remove(pxth));
+    }
+
+    /**
+     * @see JsonMap#remove(List)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement remove(@NotNull @Unmodifiable final List<String> path)
+    {
+        return remove(Pxth.of(path));
+    }
+
+    /**
+     * @see JsonMap#insert(Pxth, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        touch(pxth);
+
+        if (this.log != null)
+        {
+            this.log.insert(pxth, data);
+            return this.view.insert(pxth, data);
+        }
+
+        return write(this.view.batch().insert(pxth, data));
+    }
+
+    /**
+     * @see JsonMap#insert(List, JsonElement)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull JsonElement insert(@NotNull @Unmodifiable final List<String> path, @NotNull final JsonElement data)
+    {
+        return insert(Pxth.of(path), data);
+    }
+
+
+    /**
+     * Discard every write of this transaction once its body returns
+     */
+    @AvailableSince("1.2.0")
+    public void rollback()
+    {
+        this.rollback = true;
+    }
+
+    /**
+     * @return True if {@link JsonTransaction#rollback()} has been called
+     */
+    @AvailableSince("1.2.0")
+    public boolean isRollback()
+    {
+        return this.rollback;
+    }
+
+
+    /**
+     * @return The top level keys read or written by this transaction
+     */
+    @NotNull Set<String> touched()
+    {
+        return this.touched;
+    }
+
+    /**
+     * Revert every write made straight through to the map, most recent first
+     */
+    void undo()
+    {
+        for (int i = this.undo.size() - 1; i >= 0; i--)
+        {
+            this.view.apply(this.undo.get(i));
+        }
+
+        this.undo.clear();
+    }
+
+
+    private void touch(@NotNull final Pxth pxth)
+    {
+        if (!pxth.isEmpty())
+        {
+            this.touched.add(pxth.node(0).name());
+        }
+    }
+
+    private @NotNull JsonElement write(@NotNull final JsonBatch batch)
+    {
+        final var op      = batch.ops().get(0);
+        final var inverse = this.view.apply(batch);
+
+        this.undo.add(inverse);
+
+        // the inverse holds the previous value, or for removed array elements, the whole previous array
+        for (final var prev : inverse.ops())
+        {
+            if (prev.pxth().equals(op.pxth()))
+            {
+                return prev.data() != null ? prev.data() : JsonNull.INSTANCE;
+            }
+
+            if (op.isRemove() && prev.data() != null && prev.data().isJsonArray() && prev.pxth().size() == op.pxth().size() - 1)
+            {
+                return prev.data().getAsJsonArray().get(op.pxth().node(op.pxth().size() - 1).index());
+            }
+        }
+
+        return JsonNull.INSTANCE;
+    }
+
+}
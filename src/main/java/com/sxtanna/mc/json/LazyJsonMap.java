@@ -0,0 +1,645 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JsonMap} loaded from text, whose top level values are only parsed once they are first accessed
+ * <ul>
+ *   <li>Loading only scans the text for the bounds of each top level value, nothing is parsed into a {@link JsonElement}.</li>
+ *   <li>A value is parsed the first time {@link JsonMap#select(Pxth)}, {@link JsonMap#insert(Pxth, JsonElement)}, or {@link JsonMap#data()} reaches it.</li>
+ *   <li>{@link LazyJsonMap#save(Writer, Gson, Consumer)} writes values that were never parsed back verbatim, without serializing them.</li>
+ *   <li>A malformed value throws {@link JsonSyntaxException} when it is first parsed, rather than when the map is loaded.</li>
+ *   <li>Like {@link JsonMap#create()}, this map is not thread safe.</li>
+ * </ul>
+ *
+ * @see LazyJsonMap#load(Path)
+ * @see LazyJsonMap#load(Reader)
+ */
+@AvailableSince("1.2.0")
+public final class LazyJsonMap implements JsonMap
+{
+
+    /**
+     * Each value is either a parsed {@link JsonElement} or the {@link Raw} bounds of its text
+     */
+    @NotNull
+    private final Map<String, Object>      members;
+    @NotNull
+    private final Map<String, JsonElement> data  = new View();
+    @NotNull
+    private final PxthSet                  dirty = new PxthSet();
+
+
+    private LazyJsonMap(@NotNull final Map<String, Object> members)
+    {
+        this.members = members;
+    }
+
+
+    /**
+     * @return A view of this map, values are parsed as they are accessed
+     */
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.data;
+    }
+
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        // an absent path and a stored null both remove as null, only the latter modifies this map
+        if (JsonNodes.stored(this.data, pxth) != null)
+        {
+            this.dirty.add(pxth);
+        }
+
+        return JsonMap.super.remove(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        final var prev = JsonMap.super.insert(pxth, data);
+
+        // a blocked insert returns null too, so a null previous value only counts once the data is actually stored
+        if (prev.isJsonNull() ? JsonNodes.stored(this.data, pxth) == data : !prev.equals(data))
+        {
+            this.dirty.add(pxth);
+        }
+
+        return prev;
+    }
+
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        for (final var op : batch.ops())
+        {
+            this.dirty.add(op.pxth());
+        }
+
+        return JsonMap.super.apply(batch);
+    }
+
+
+    /**
+     * Values that were never parsed are shared with the snapshot as text, everything else is copied
+     */
+    @Override
+    @Contract(" -> new")
+    public @NotNull LazyJsonMap snapshot()
+    {
+        final var members = new LinkedHashMap<String, Object>();
+
+        for (final var entry : this.members.entrySet())
+        {
+            members.put(entry.getKey(), entry.getValue() instanceof JsonElement json ? json.deepCopy() : entry.getValue());
+        }
+
+        return new LazyJsonMap(members);
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        if (snapshot == this)
+        {
+            return;
+        }
+
+        this.dirty.add(Pxth.NONE);
+
+        if (!(snapshot instanceof LazyJsonMap lazy))
+        {
+            JsonMap.super.restore(snapshot);
+            return;
+        }
+
+        this.members.clear();
+        this.members.putAll(lazy.snapshot().members);
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return Collections.unmodifiableSet(new PxthSet(this.dirty));
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return !this.dirty.isEmpty();
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        this.dirty.clear();
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        this.dirty.addAll(paths);
+    }
+
+
+    /**
+     * Values that were never parsed are written as their original text
+     */
+    @Override
+    public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            final var adapter = gson.getAdapter(JsonElement.class);
+            final var json    = gson.newJsonWriter(writer);
+
+            json.setLenient(true);
+
+            json.beginObject();
+
+            for (final var entry : this.members.entrySet())
+            {
+                json.name(entry.getKey());
+
+                if (entry.getValue() instanceof Raw raw)
+                {
+                    json.jsonValue(raw.text());
+                }
+                else
+                {
+                    adapter.write(json, (JsonElement) entry.getValue());
+                }
+            }
+
+            json.endObject();
+            json.flush();
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * @return The amount of top level values that have not been parsed yet
+     */
+    @AvailableSince("1.2.0")
+    public int unparsed()
+    {
+        int count = 0;
+
+        for (final var value : this.members.values())
+        {
+            if (value instanceof Raw)
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    private @Nullable JsonElement parse(@NotNull final String name)
+    {
+        final var value = this.members.get(name);
+
+        if (!(value instanceof Raw raw))
+        {
+            return (JsonElement) value;
+        }
+
+        final var json = JsonParser.parseString(raw.text());
+        this.members.put(name, json);
+
+        return json;
+    }
+
+
+    /**
+     * Scan a json object for the bounds of its top level values, without parsing them
+     *
+     * @param text             The text of the json object
+     * @param exceptionHandler The handler for any caught exception during the loading process
+     * @return The new {@link LazyJsonMap} over the provided text, or null if the text is not a json object
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable LazyJsonMap load(@NotNull final String text, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try
+        {
+            return new LazyJsonMap(new Scanner(text).members());
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * @see LazyJsonMap#load(String, Consumer)
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable LazyJsonMap load(@NotNull final Reader reader, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final var text = new StringWriter();
+
+        try
+        {
+            reader.transferTo(text);
+        }
+        catch (final IOException ex)
+        {
+            exceptionHandler.accept(ex);
+            return null;
+        }
+
+        return load(text.toString(), exceptionHandler);
+    }
+
+    /**
+     * @see LazyJsonMap#load(Reader, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable LazyJsonMap load(@NotNull final Reader reader)
+    {
+        return load(reader, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see LazyJsonMap#load(String, Consumer)
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable LazyJsonMap load(@NotNull final Path path, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        final String text;
+
+        try
+        {
+            text = Files.readString(path, StandardCharsets.UTF_8);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+            return null;
+        }
+
+        return load(text, exceptionHandler);
+    }
+
+    /**
+     * @see LazyJsonMap#load(Path, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable LazyJsonMap load(@NotNull final Path path)
+    {
+        return load(path, PRINT_STACK_TRACE);
+    }
+
+
+    /**
+     * The bounds of a value within the loaded text
+     */
+    private record Raw(@NotNull String source, int from, int to)
+    {
+
+        private @NotNull String text()
+        {
+            return this.source.substring(this.from, this.to);
+        }
+
+    }
+
+    /**
+     * Finds the members of a json object, reading only the keys, and skipping over the values by matching brackets and quotes
+     */
+    private static final class Scanner
+    {
+
+        @NotNull
+        private final String text;
+        private       int    index;
+
+
+        private Scanner(@NotNull final String text)
+        {
+            this.text = text;
+        }
+
+
+        private @NotNull Map<String, Object> members()
+        {
+            final var members = new LinkedHashMap<String, Object>();
+
+            expect('{');
+
+            if (peek() == '}')
+            {
+                this.index++;
+                return members;
+            }
+
+            while (true)
+            {
+                expect('"');
+                final var name = string();
+
+                expect(':');
+                whitespace();
+
+                final var from = this.index;
+                value();
+
+                members.put(name, new Raw(this.text, from, this.index));
+
+                final var next = peek();
+                this.index++;
+
+                if (next == '}')
+                {
+                    return members;
+                }
+                if (next != ',')
+                {
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+
+        private void value()
+        {
+            final var first = peek();
+
+            if (first == '"')
+            {
+                this.index++;
+                string();
+                return;
+            }
+
+            if (first != '{' && first != '[')
+            {
+                // a literal, runs until the next separator
+                while (this.index < this.text.length() && ",}] \t\r\n".indexOf(this.text.charAt(this.index)) < 0)
+                {
+                    this.index++;
+                }
+
+                return;
+            }
+
+            int depth = 0;
+
+            while (this.index < this.text.length())
+            {
+                final var c = this.text.charAt(this.index++);
+
+                switch (c)
+                {
+                    case '"' -> string();
+                    case '{', '[' -> depth++;
+                    case '}', ']' ->
+                    {
+                        if (--depth == 0)
+                        {
+                            return;
+                        }
+                    }
+                    default -> {}
+                }
+            }
+
+            throw error("unterminated value");
+        }
+
+        /**
+         * Read the rest of a string whose opening quote has been consumed
+         */
+        private @NotNull String string()
+        {
+            final var from = this.index;
+
+            StringBuilder builder = null;
+
+            while (this.index < this.text.length())
+            {
+                final var c = this.text.charAt(this.index++);
+
+                if (c == '"')
+                {
+                    return builder == null ? this.text.substring(from, this.index - 1) : builder.toString();
+                }
+
+                if (c != '\\')
+                {
+                    if (builder != null)
+                    {
+                        builder.append(c);
+                    }
+
+                    continue;
+                }
+
+                if (builder == null)
+                {
+                    builder = new StringBuilder(this.text.substring(from, this.index - 1));
+                }
+
+                if (this.index >= this.text.length())
+                {
+                    break;
+                }
+
+                final var escaped = this.text.charAt(this.index++);
+
+                switch (escaped)
+                {
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' ->
+                    {
+                        if (this.index + 4 > this.text.length())
+                        {
+                            throw error("unterminated escape");
+                        }
+
+                        builder.append((char) Integer.parseInt(this.text, this.index, this.index + 4, 16));
+                        this.index += 4;
+                    }
+                    default -> builder.append(escaped);
+                }
+            }
+
+            throw error("unterminated string");
+        }
+
+
+        private char peek()
+        {
+            whitespace();
+
+            if (this.index >= this.text.length())
+            {
+                throw error("unexpected end of text");
+            }
+
+            return this.text.charAt(this.index);
+        }
+
+        private void expect(final char c)
+        {
+            if (peek() != c)
+            {
+                throw error("expected '" + c + "'");
+            }
+
+            this.index++;
+        }
+
+        private void whitespace()
+        {
+            while (this.index < this.text.length() && Character.isWhitespace(this.text.charAt(this.index)))
+            {
+                this.index++;
+            }
+        }
+
+        private @NotNull JsonSyntaxException error(@NotNull final String message)
+        {
+            return new JsonSyntaxException(message + " at " + this.index);
+        }
+
+    }
+
+    private final class View extends AbstractMap<String, JsonElement>
+    {
+
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return LazyJsonMap.this.members.containsKey(key);
+        }
+
+        @Override
+        public @Nullable JsonElement get(final Object key)
+        {
+            return key instanceof String name ? parse(name) : null;
+        }
+
+        @Override
+        public @Nullable JsonElement put(@NotNull final String key, @NotNull final JsonElement value)
+        {
+            final var prev = LazyJsonMap.this.members.put(key, value);
+            return prev instanceof Raw raw ? JsonParser.parseString(raw.text()) : (JsonElement) prev;
+        }
+
+        @Override
+        public @Nullable JsonElement remove(final Object key)
+        {
+            final var prev = LazyJsonMap.this.members.remove(key);
+            return prev instanceof Raw raw ? JsonParser.parseString(raw.text()) : (JsonElement) prev;
+        }
+
+        @Override
+        public void clear()
+        {
+            LazyJsonMap.this.members.clear();
+        }
+
+        @Override
+        public int size()
+        {
+            return LazyJsonMap.this.members.size();
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, JsonElement>> entrySet()
+        {
+            return new AbstractSet<>()
+            {
+                @Override
+                public @NotNull Iterator<Entry<String, JsonElement>> iterator()
+                {
+                    final var iterator = LazyJsonMap.this.members.keySet().iterator();
+
+                    return new Iterator<>()
+                    {
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, JsonElement> next()
+                        {
+                            final var name = iterator.next();
+                            return new SimpleImmutableEntry<>(name, parse(name));
+                        }
+
+                        @Override
+                        public void remove()
+                        {
+                            iterator.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return LazyJsonMap.this.members.size();
+                }
+            };
+        }
+
+    }
+
+}
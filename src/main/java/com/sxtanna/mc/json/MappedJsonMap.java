@@ -0,0 +1,322 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A read only {@link JsonMap} over a memory mapped {@link JsonBinary} document
+ * <ul>
+ *   <li>Opening a document only reads its key dictionary and the offsets of its top level keys.</li>
+ *   <li>{@link MappedJsonMap#select(Pxth)} walks the mapped bytes, skipping unrelated subtrees by length, and decodes only the element selected.</li>
+ *   <li>Every element returned is freshly decoded, so modifying it has no effect on this map.</li>
+ *   <li>Any attempt to modify this map throws {@link UnsupportedOperationException}.</li>
+ *   <li>This map is thread safe.</li>
+ * </ul>
+ *
+ * @see MappedJsonMap#open(Path)
+ * @see JsonBinary#save(JsonMap, Path)
+ */
+@AvailableSince("1.2.0")
+public final class MappedJsonMap implements JsonMap
+{
+
+    @NotNull
+    private final ByteBuffer               buffer;
+    @NotNull
+    private final String[]                 keys;
+    @NotNull
+    private final Map<String, Integer>     ids;
+    @NotNull
+    private final Map<String, Integer>     offsets;
+    @NotNull
+    private final Map<String, JsonElement> data = new View();
+
+
+    private MappedJsonMap(@NotNull final ByteBuffer buffer)
+    {
+        this.buffer = buffer;
+
+        final var reader = buffer.duplicate();
+
+        this.keys = JsonBinary.header(reader);
+        this.ids  = new HashMap<>(this.keys.length * 2);
+
+        for (int i = 0; i < this.keys.length; i++)
+        {
+            this.ids.put(this.keys[i], i);
+        }
+
+        if (reader.get() != JsonBinary.OBJECT)
+        {
+            throw new IllegalArgumentException("document does not hold an object");
+        }
+
+        reader.getInt();
+
+        final var size = JsonBinary.getVarint(reader);
+        this.offsets = new LinkedHashMap<>(size * 2);
+
+        for (int i = 0; i < size; i++)
+        {
+            this.offsets.put(this.keys[JsonBinary.getVarint(reader)], reader.position());
+            JsonBinary.skip(reader);
+        }
+    }
+
+
+    /**
+     * @return An unmodifiable view of this map, each value is decoded when it is accessed
+     */
+    @Override
+    public @NotNull @Unmodifiable Map<String, JsonElement> data()
+    {
+        return this.data;
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var offset = this.offsets.get(pxth.node(0).name());
+        if (offset == null)
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var reader = this.buffer.duplicate().position(offset);
+
+        for (int i = 1; i < pxth.size(); i++)
+        {
+            final var tag = reader.get(reader.position());
+
+            if (tag == JsonBinary.OBJECT)
+            {
+                final var id = this.ids.get(pxth.node(i).name());
+                if (id == null || !seekMember(reader, id))
+                {
+                    return JsonNull.INSTANCE;
+                }
+            }
+            else if (tag == JsonBinary.ARRAY)
+            {
+                final var node = pxth.node(i);
+                if (!node.indexed() || !seekElement(reader, node.index()))
+                {
+                    return JsonNull.INSTANCE;
+                }
+            }
+            else
+            {
+                // like every other map, the first non container along the path is the result
+                break;
+            }
+        }
+
+        return JsonBinary.read(reader, this.keys);
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        throw new UnsupportedOperationException("mapped json map is read only");
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        throw new UnsupportedOperationException("mapped json map is read only");
+    }
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        throw new UnsupportedOperationException("mapped json map is read only");
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        throw new UnsupportedOperationException("mapped json map is read only");
+    }
+
+
+    /**
+     * @return Always empty, this map cannot be modified
+     */
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return Set.of();
+    }
+
+
+    /**
+     * Position the reader at the value of the member with the provided key, within the object at the reader's position
+     */
+    private static boolean seekMember(@NotNull final ByteBuffer reader, final int id)
+    {
+        reader.get();
+        reader.getInt();
+
+        final var size = JsonBinary.getVarint(reader);
+
+        for (int i = 0; i < size; i++)
+        {
+            if (JsonBinary.getVarint(reader) == id)
+            {
+                return true;
+            }
+
+            JsonBinary.skip(reader);
+        }
+
+        return false;
+    }
+
+    /**
+     * Position the reader at the element with the provided index, within the array at the reader's position
+     */
+    private static boolean seekElement(@NotNull final ByteBuffer reader, final int index)
+    {
+        reader.get();
+        reader.getInt();
+
+        final var size = JsonBinary.getVarint(reader);
+        if (index >= size)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < index; i++)
+        {
+            JsonBinary.skip(reader);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Map the provided {@link JsonBinary} document
+     *
+     * @param path             The file holding the document, it should not be modified while mapped
+     * @param exceptionHandler The handler for any caught exception during the mapping process
+     * @return The new {@link MappedJsonMap}, or null if the mapping process fails
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable MappedJsonMap open(@NotNull final Path path, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            return new MappedJsonMap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.accept(ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * @see MappedJsonMap#open(Path, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    public static @Nullable MappedJsonMap open(@NotNull final Path path)
+    {
+        return open(path, PRINT_STACK_TRACE);
+    }
+
+
+    private final class View extends AbstractMap<String, JsonElement>
+    {
+
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return MappedJsonMap.this.offsets.containsKey(key);
+        }
+
+        @Override
+        public @Nullable JsonElement get(final Object key)
+        {
+            final var offset = MappedJsonMap.this.offsets.get(key);
+            return offset == null ? null : decode(offset);
+        }
+
+        @Override
+        public int size()
+        {
+            return MappedJsonMap.this.offsets.size();
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, JsonElement>> entrySet()
+        {
+            return new AbstractSet<>()
+            {
+                @Override
+                public @NotNull Iterator<Entry<String, JsonElement>> iterator()
+                {
+                    final var iterator = MappedJsonMap.this.offsets.entrySet().iterator();
+
+                    return new Iterator<>()
+                    {
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, JsonElement> next()
+                        {
+                            final var next = iterator.next();
+                            return new SimpleImmutableEntry<>(next.getKey(), decode(next.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return MappedJsonMap.this.offsets.size();
+                }
+            };
+        }
+
+
+        private @NotNull JsonElement decode(final int offset)
+        {
+            return JsonBinary.read(MappedJsonMap.this.buffer.duplicate().position(offset), MappedJsonMap.this.keys);
+        }
+
+    }
+
+}
@@ -0,0 +1,570 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link JsonMap} that notifies {@link JsonListener}s of the changes made within the paths they subscribe to
+ * <ul>
+ *   <li>Subscriptions are indexed by a trie of their paths, so a write only visits the subscriptions on its own ancestors and beneath it.</li>
+ *   <li>A listener on a path is notified of writes to that path, to its descendants, and to its ancestors if they change its value.</li>
+ *   <li>Every write is compared before and after, writes that change nothing are not delivered.</li>
+ *   <li>The changes of one {@link JsonMap#apply(JsonBatch)}, {@link JsonMap#restore(JsonMap)}, or {@link JsonMap#transaction(Consumer)} are delivered together.</li>
+ *   <li>With an {@link Executor}, changes are queued and delivered in order on it, those made before a delivery starts are coalesced into it.</li>
+ *   <li>Writes made through {@link JsonMap#data()} bypass this map and are not observed.</li>
+ * </ul>
+ *
+ * @see ObservableJsonMap#of(JsonMap)
+ * @see ObservableJsonMap#of(JsonMap, Executor)
+ */
+@AvailableSince("1.2.0")
+public final class ObservableJsonMap implements JsonMap
+{
+
+    @NotNull
+    private final JsonMap                             delegate;
+    @Nullable
+    private final Executor                            executor;
+    @NotNull
+    private final Consumer<Throwable>                 exceptionHandler;
+    /**
+     * Guarded by its own monitor
+     */
+    @NotNull
+    private final Branch                              root    = new Branch();
+    /**
+     * Guarded by its own monitor, only used with an executor
+     */
+    @NotNull
+    private final Map<Subscription, List<JsonChange>> pending = new LinkedHashMap<>();
+
+    private boolean draining;
+
+
+    private ObservableJsonMap(@NotNull final JsonMap delegate, @Nullable final Executor executor, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        this.delegate         = delegate;
+        this.executor         = executor;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.delegate.data();
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        return this.delegate.select(pxth);
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        return observe(List.of(pxth), () -> this.delegate.remove(pxth));
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        return observe(List.of(pxth), () -> this.delegate.insert(pxth, data));
+    }
+
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        final var paths = new ArrayList<Pxth>(batch.size());
+
+        for (final var op : batch.ops())
+        {
+            paths.add(op.pxth());
+        }
+
+        return observe(paths, () -> this.delegate.apply(batch).bind(this));
+    }
+
+    /**
+     * The transaction runs on the delegate, so it keeps the delegate's guarantees, every subscribed path is compared around it
+     */
+    @Override
+    public boolean transaction(@NotNull final Consumer<JsonTransaction> body)
+    {
+        return observe(null, () -> this.delegate.transaction(body));
+    }
+
+
+    @Override
+    public @NotNull JsonMap snapshot()
+    {
+        return this.delegate.snapshot();
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        observe(null, () ->
+        {
+            this.delegate.restore(snapshot);
+            return null;
+        });
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return this.delegate.dirtyPaths();
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return this.delegate.isDirty();
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        this.delegate.clearDirty();
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        this.delegate.markDirty(paths);
+    }
+
+    @Override
+    public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return this.delegate.save(writer, gson, exceptionHandler);
+    }
+
+
+    /**
+     * Subscribe the provided listener to the changes made within the provided path
+     *
+     * @param pxth     The path to subscribe to, {@link Pxth#NONE} subscribes to every change
+     * @param listener The listener to notify
+     * @return The subscription, closing it stops any further delivery
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull Subscription listen(@NotNull final Pxth pxth, @NotNull final JsonListener listener)
+    {
+        final var subscription = new Subscription(pxth, listener);
+
+        synchronized (this.root)
+        {
+            var branch = this.root;
+
+            for (int i = 0; i < pxth.size(); i++)
+            {
+                branch = branch.children.computeIfAbsent(pxth.node(i).name(), name -> new Branch());
+            }
+
+            branch.subscriptions.add(subscription);
+        }
+
+        return subscription;
+    }
+
+    /**
+     * @see ObservableJsonMap#listen(Pxth, JsonListener)
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull Subscription listen(@NotNull @Unmodifiable final List<String> path, @NotNull final JsonListener listener)
+    {
+        return listen(Pxth.of(path), listener);
+    }
+
+    /**
+     * Subscribe the provided listener to the value of the provided key, it receives the decoded value once per delivery
+     *
+     * @param jKey     The key to subscribe to
+     * @param gson     The gson instance used to decode the value
+     * @param listener The listener to notify, with the value decoded at the time of delivery
+     * @return The subscription, closing it stops any further delivery
+     */
+    @AvailableSince("1.2.0")
+    public <T> @NotNull Subscription listen(@NotNull final JsonKey<T> jKey, @NotNull final Gson gson, @NotNull final Consumer<? super T> listener)
+    {
+        return listen(jKey.pxth(), changes -> listener.accept(select(jKey, gson, this.exceptionHandler)));
+    }
+
+    /**
+     * @see ObservableJsonMap#listen(JsonKey, Gson, Consumer)
+     * @see JsonMap#FALLBACK_GSON_REF
+     */
+    @AvailableSince("1.2.0")
+    public <T> @NotNull Subscription listen(@NotNull final JsonKey<T> jKey, @NotNull final Consumer<? super T> listener)
+    {
+        final var gson = FALLBACK_GSON_REF.get();
+        return listen(jKey, gson != null ? gson : GSON, listener);
+    }
+
+
+    /**
+     * Run the provided write, then deliver the changes it made to every path subscribed to around the provided paths
+     *
+     * @param paths The paths written to, or null to compare every subscribed path
+     */
+    private <R> R observe(@Nullable final Collection<Pxth> paths, @NotNull final Supplier<R> write)
+    {
+        final var watched = watched(paths);
+        if (watched.isEmpty())
+        {
+            return write.get();
+        }
+
+        // subscriptions on the root, when the written paths are unknown, are compared across the whole map
+        final var everything = watched.remove(Pxth.NONE);
+        final var whole      = everything != null ? this.delegate.snapshot() : null;
+
+        final var prev = new JsonElement[watched.size()];
+
+        int index = 0;
+        for (final var pxth : watched.keySet())
+        {
+            prev[index++] = this.delegate.select(pxth).deepCopy();
+        }
+
+        final var result = write.get();
+
+        final var changes = new LinkedHashMap<Subscription, List<JsonChange>>();
+
+        index = 0;
+        for (final var entry : watched.entrySet())
+        {
+            final var before = prev[index++];
+            final var after  = this.delegate.select(entry.getKey());
+
+            if (before.equals(after))
+            {
+                continue;
+            }
+
+            // delivered later on the executor, so it must not see writes made after this one
+            final var change = new JsonChange(entry.getKey(), before, this.executor != null ? after.deepCopy() : after);
+
+            for (final var subscription : entry.getValue())
+            {
+                changes.computeIfAbsent(subscription, key -> new ArrayList<>()).add(change);
+            }
+        }
+
+        if (whole != null)
+        {
+            for (final var op : whole.diff(this.delegate.snapshot()).ops())
+            {
+                final var change = new JsonChange(op.pxth(), whole.select(op.pxth()).deepCopy(), op.isRemove() ? JsonNull.INSTANCE : op.data());
+
+                for (final var subscription : everything)
+                {
+                    changes.computeIfAbsent(subscription, key -> new ArrayList<>()).add(change);
+                }
+            }
+        }
+
+        if (!changes.isEmpty())
+        {
+            deliver(changes);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Each path to compare, with the subscriptions notified if it changes
+     */
+    private @NotNull Map<Pxth, Set<Subscription>> watched(@Nullable final Collection<Pxth> paths)
+    {
+        final var watched = new LinkedHashMap<Pxth, Set<Subscription>>();
+
+        synchronized (this.root)
+        {
+            if (paths == null)
+            {
+                below(this.root, watched);
+                return watched;
+            }
+
+            for (final var pxth : new LinkedHashSet<>(paths))
+            {
+                var branch = this.root;
+
+                // subscriptions on the path and its ancestors see the change at the path
+                for (int i = 0; branch != null; i++)
+                {
+                    if (!branch.subscriptions.isEmpty())
+                    {
+                        watched.computeIfAbsent(pxth, key -> new LinkedHashSet<>()).addAll(branch.subscriptions);
+                    }
+
+                    if (i == pxth.size())
+                    {
+                        // subscriptions beneath the path see the change at their own path
+                        for (final var child : branch.children.values())
+                        {
+                            below(child, watched);
+                        }
+
+                        break;
+                    }
+
+                    branch = branch.children.get(pxth.node(i).name());
+                }
+            }
+        }
+
+        return watched;
+    }
+
+    private void deliver(@NotNull final Map<Subscription, List<JsonChange>> changes)
+    {
+        if (this.executor == null)
+        {
+            notify(changes);
+            return;
+        }
+
+        synchronized (this.pending)
+        {
+            for (final var entry : changes.entrySet())
+            {
+                this.pending.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).addAll(entry.getValue());
+            }
+
+            if (this.draining)
+            {
+                return;
+            }
+
+            this.draining = true;
+        }
+
+        try
+        {
+            this.executor.execute(this::drain);
+        }
+        catch (final Throwable ex)
+        {
+            synchronized (this.pending)
+            {
+                this.draining = false;
+            }
+
+            this.exceptionHandler.accept(ex);
+        }
+    }
+
+    /**
+     * Deliver queued changes until none are left, only one drain runs at a time so every listener sees its changes in order
+     */
+    private void drain()
+    {
+        while (true)
+        {
+            final Map<Subscription, List<JsonChange>> changes;
+
+            synchronized (this.pending)
+            {
+                if (this.pending.isEmpty())
+                {
+                    this.draining = false;
+                    return;
+                }
+
+                changes = new LinkedHashMap<>(this.pending);
+                this.pending.clear();
+            }
+
+            notify(changes);
+        }
+    }
+
+    private void notify(@NotNull final Map<Subscription, List<JsonChange>> changes)
+    {
+        for (final var entry : changes.entrySet())
+        {
+            final var subscription = entry.getKey();
+            if (subscription.closed)
+            {
+                continue;
+            }
+
+            try
+            {
+                subscription.listener.changed(Collections.unmodifiableList(entry.getValue()));
+            }
+            catch (final Throwable ex)
+            {
+                this.exceptionHandler.accept(ex);
+            }
+        }
+    }
+
+
+    private static void below(@NotNull final Branch branch, @NotNull final Map<Pxth, Set<Subscription>> watched)
+    {
+        for (final var subscription : branch.subscriptions)
+        {
+            watched.computeIfAbsent(subscription.pxth, key -> new LinkedHashSet<>()).add(subscription);
+        }
+
+        for (final var child : branch.children.values())
+        {
+            below(child, watched);
+        }
+    }
+
+
+    /**
+     * @return The new {@link ObservableJsonMap} wrapping the provided map, delivering changes on the writing thread
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull ObservableJsonMap of(@NotNull final JsonMap delegate)
+    {
+        return new ObservableJsonMap(delegate, null, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @see ObservableJsonMap#of(JsonMap, Executor, Consumer)
+     * @see JsonMap#PRINT_STACK_TRACE
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull ObservableJsonMap of(@NotNull final JsonMap delegate, @NotNull final Executor executor)
+    {
+        return of(delegate, executor, PRINT_STACK_TRACE);
+    }
+
+    /**
+     * @param delegate         The map that holds the actual data
+     * @param executor         The executor changes are delivered on
+     * @param exceptionHandler The handler for any exception thrown by a listener
+     * @return The new {@link ObservableJsonMap} wrapping the provided map
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_, _, _ -> new", pure = true)
+    public static @NotNull ObservableJsonMap of(@NotNull final JsonMap delegate, @NotNull final Executor executor, @NotNull final Consumer<Throwable> exceptionHandler)
+    {
+        return new ObservableJsonMap(delegate, executor, exceptionHandler);
+    }
+
+
+    /**
+     * A listener subscribed to a path of an {@link ObservableJsonMap}
+     */
+    @AvailableSince("1.2.0")
+    public final class Subscription implements AutoCloseable
+    {
+
+        @NotNull
+        private final Pxth         pxth;
+        @NotNull
+        private final JsonListener listener;
+
+        private volatile boolean closed;
+
+
+        private Subscription(@NotNull final Pxth pxth, @NotNull final JsonListener listener)
+        {
+            this.pxth     = pxth;
+            this.listener = listener;
+        }
+
+
+        /**
+         * @return The path subscribed to
+         */
+        @AvailableSince("1.2.0")
+        public @NotNull Pxth pxth()
+        {
+            return this.pxth;
+        }
+
+        /**
+         * @return True if this subscription has been closed
+         */
+        @AvailableSince("1.2.0")
+        public boolean isClosed()
+        {
+            return this.closed;
+        }
+
+        /**
+         * Stop delivering changes to the listener, including those already queued
+         */
+        @Override
+        @AvailableSince("1.2.0")
+        public void close()
+        {
+            if (this.closed)
+            {
+                return;
+            }
+
+            this.closed = true;
+
+            synchronized (ObservableJsonMap.this.root)
+            {
+                final var trail = new Branch[this.pxth.size() + 1];
+                trail[0] = ObservableJsonMap.this.root;
+
+                for (int i = 0; i < this.pxth.size(); i++)
+                {
+                    trail[i + 1] = trail[i].children.get(this.pxth.node(i).name());
+                }
+
+                trail[trail.length - 1].subscriptions.remove(this);
+
+                // prune branches left without subscriptions or children
+                for (int i = trail.length - 1; i > 0 && trail[i].subscriptions.isEmpty() && trail[i].children.isEmpty(); i--)
+                {
+                    trail[i - 1].children.remove(this.pxth.node(i - 1).name());
+                }
+            }
+        }
+
+    }
+
+    private static final class Branch
+    {
+
+        @NotNull
+        private final Map<String, Branch> children      = new HashMap<>();
+        @NotNull
+        private final List<Subscription>  subscriptions = new ArrayList<>();
+
+    }
+
+}
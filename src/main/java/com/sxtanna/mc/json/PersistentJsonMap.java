@@ -0,0 +1,1049 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A thread safe {@link JsonMap} whose data is never modified in place
+ * <ul>
+ *   <li>Top level keys are held in a persistent hash array mapped trie, nested containers are shared between versions.</li>
+ *   <li>{@link PersistentJsonMap#insert(Pxth, JsonElement)} and {@link PersistentJsonMap#remove(Pxth)} copy only the containers along the
+ *   modified path, then publish the new version atomically.</li>
+ *   <li>Readers never block and always see one complete version, {@link PersistentJsonMap#snapshot()} is constant time.</li>
+ *   <li>Elements returned from, or inserted into, this map are shared between versions and must not be modified.</li>
+ * </ul>
+ *
+ * @see PersistentJsonMap#create()
+ * @see PersistentJsonMap#create(Map)
+ */
+@AvailableSince("1.2.0")
+public final class PersistentJsonMap implements JsonMap
+{
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+
+    @NotNull
+    private final AtomicReference<Root>    root;
+    @NotNull
+    private final Map<String, JsonElement> data  = new View();
+    /**
+     * Guarded by its own monitor, paths are recorded only after their new version has been published
+     */
+    @NotNull
+    private final PxthSet                  dirty = new PxthSet();
+
+
+    private PersistentJsonMap(@NotNull final Root root)
+    {
+        this.root = new AtomicReference<>(root);
+    }
+
+
+    /**
+     * @return An unmodifiable view of the latest version of this map
+     */
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.data;
+    }
+
+
+    @Override
+    public @NotNull JsonElement select(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        return JsonNodes.find(this.root.get().get(pxth.node(0).name()), pxth, 1, pxth.size());
+    }
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var prev = new JsonElement[1];
+
+        while (true)
+        {
+            prev[0] = null;
+
+            final var curr = this.root.get();
+            final var next = removed(curr, pxth, prev);
+
+            if (curr == next)
+            {
+                return JsonNull.INSTANCE;
+            }
+
+            if (this.root.compareAndSet(curr, next))
+            {
+                dirty(pxth);
+                return prev[0] != null ? prev[0] : JsonNull.INSTANCE;
+            }
+        }
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        if (pxth.isEmpty())
+        {
+            return JsonNull.INSTANCE;
+        }
+
+        final var prev = new JsonElement[1];
+
+        while (true)
+        {
+            prev[0] = null;
+
+            final var curr = this.root.get();
+            final var next = inserted(curr, pxth, data, prev);
+
+            if (curr == next)
+            {
+                return JsonNull.INSTANCE;
+            }
+
+            if (this.root.compareAndSet(curr, next))
+            {
+                dirty(pxth);
+                return prev[0] != null ? prev[0] : JsonNull.INSTANCE;
+            }
+        }
+    }
+
+
+    /**
+     * Atomically add the provided delta to the number stored at the provided path, retrying if another thread publishes first
+     *
+     * @see JsonMap#increment(Pxth, long)
+     */
+    @Override
+    public long increment(@NotNull final Pxth pxth, final long delta)
+    {
+        if (pxth.isEmpty())
+        {
+            return delta;
+        }
+
+        final var prev = new JsonElement[1];
+
+        while (true)
+        {
+            final var curr = this.root.get();
+            final var json = JsonNodes.find(curr.get(pxth.node(0).name()), pxth, 1, pxth.size());
+
+            final var value = (json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber() ? json.getAsLong() : 0L) + delta;
+            final var next  = inserted(curr, pxth, new JsonPrimitive(value), prev);
+
+            if (curr == next)
+            {
+                return value;
+            }
+
+            if (this.root.compareAndSet(curr, next))
+            {
+                dirty(pxth);
+                return value;
+            }
+        }
+    }
+
+
+    /**
+     * Every operation of the batch is folded into a single new version, which is published atomically
+     *
+     * @return The batch that restores each top level key touched by the provided batch
+     */
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        final var plan = batch.plan();
+        final var prev = new JsonElement[1];
+
+        while (true)
+        {
+            final var curr = this.root.get();
+            var       next = curr;
+
+            final var touched = new LinkedHashMap<String, JsonElement>();
+
+            for (final var op : plan)
+            {
+                if (op.pxth().isEmpty())
+                {
+                    continue;
+                }
+
+                final var name = op.pxth().node(0).name();
+                if (!touched.containsKey(name))
+                {
+                    touched.put(name, curr.get(name));
+                }
+
+                next = op.isRemove() ? removed(next, op.pxth(), prev) : inserted(next, op.pxth(), op.data(), prev);
+            }
+
+            if (curr != next && !this.root.compareAndSet(curr, next))
+            {
+                continue;
+            }
+
+            final var inverse = new JsonBatch(this, true);
+
+            for (final var entry : touched.entrySet())
+            {
+                if (next.get(entry.getKey()) == entry.getValue())
+                {
+                    continue;
+                }
+
+                final var pxth = new Pxth(List.of(entry.getKey()));
+
+                dirty(pxth);
+
+                if (entry.getValue() == null)
+                {
+                    inverse.remove(pxth);
+                }
+                else
+                {
+                    inverse.insert(pxth, entry.getValue());
+                }
+            }
+
+            return inverse;
+        }
+    }
+
+
+    /**
+     * Runs the body against a constant time snapshot, then publishes the resulting version with a single compare and set, without any locks
+     * <p>
+     * If another thread published in between, the writes are replayed onto its version as long as none of the top level keys the body
+     * read or wrote have changed, otherwise the body runs again against a new snapshot.
+     */
+    @Override
+    public boolean transaction(@NotNull final Consumer<JsonTransaction> body)
+    {
+        final var prev = new JsonElement[1];
+
+        while (true)
+        {
+            final var base    = this.root.get();
+            final var scratch = new PersistentJsonMap(base);
+            final var log     = new JsonBatch(scratch, true);
+            final var tx      = new JsonTransaction(scratch, log);
+
+            body.accept(tx);
+
+            if (tx.isRollback())
+            {
+                return false;
+            }
+
+            var curr = base;
+            var next = scratch.root.get();
+
+            while (curr != next && !this.root.compareAndSet(curr, next))
+            {
+                curr = this.root.get();
+
+                if (!unchanged(base, curr, tx.touched()))
+                {
+                    next = null;
+                    break;
+                }
+
+                next = curr;
+
+                for (final var op : log.ops())
+                {
+                    if (!op.pxth().isEmpty())
+                    {
+                        next = op.isRemove() ? removed(next, op.pxth(), prev) : inserted(next, op.pxth(), op.data(), prev);
+                    }
+                }
+            }
+
+            if (next == null)
+            {
+                continue;
+            }
+
+            for (final var op : log.ops())
+            {
+                if (!op.pxth().isEmpty())
+                {
+                    dirty(op.pxth());
+                }
+            }
+
+            return true;
+        }
+    }
+
+
+    /**
+     * @return A new {@link PersistentJsonMap} sharing the current version of this map, changes to either are not visible to the other
+     */
+    @Override
+    @Contract(" -> new")
+    public @NotNull PersistentJsonMap snapshot()
+    {
+        return new PersistentJsonMap(this.root.get());
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        if (snapshot instanceof PersistentJsonMap persistent)
+        {
+            this.root.set(persistent.root.get());
+        }
+        else
+        {
+            final var data = new LinkedHashMap<String, JsonElement>();
+
+            for (final var entry : snapshot.data().entrySet())
+            {
+                data.put(entry.getKey(), entry.getValue().deepCopy());
+            }
+
+            this.root.set(create(data).root.get());
+        }
+
+        dirty(Pxth.NONE);
+    }
+
+
+    /**
+     * Compares the current version of this map, and of the provided map if it is persistent, subtrees shared between them are skipped
+     */
+    @Override
+    public @NotNull JsonBatch diff(@NotNull final JsonMap other)
+    {
+        final var from = snapshot();
+        final var to   = other instanceof PersistentJsonMap persistent ? persistent.snapshot() : other;
+
+        if (to instanceof PersistentJsonMap persistent && from.root.get() == persistent.root.get())
+        {
+            return new JsonBatch(this, true);
+        }
+
+        return JsonBatch.diff(this, from.data(), to.data());
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        synchronized (this.dirty)
+        {
+            return Collections.unmodifiableSet(new PxthSet(this.dirty));
+        }
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        synchronized (this.dirty)
+        {
+            return !this.dirty.isEmpty();
+        }
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        synchronized (this.dirty)
+        {
+            this.dirty.clear();
+        }
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        synchronized (this.dirty)
+        {
+            this.dirty.addAll(paths);
+        }
+    }
+
+    private void dirty(@NotNull final Pxth pxth)
+    {
+        synchronized (this.dirty)
+        {
+            this.dirty.add(pxth);
+        }
+    }
+
+
+    /**
+     * @return True if every provided top level key holds the same value in both versions
+     */
+    private static boolean unchanged(@NotNull final Root base, @NotNull final Root curr, @NotNull final Set<String> names)
+    {
+        for (final var name : names)
+        {
+            if (base.get(name) != curr.get(name))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The version following the provided one with the data placed at the path, or the provided version if nothing changed
+     */
+    private static @NotNull Root inserted(@NotNull final Root curr, @NotNull final Pxth pxth, @NotNull final JsonElement data, @NotNull final JsonElement[] prev)
+    {
+        final var name = pxth.node(0).name();
+
+        if (pxth.size() == 1)
+        {
+            return curr.with(name, data, prev);
+        }
+
+        final var json = curr.get(name);
+
+        final var edit = with(json != null ? json : new JsonObject(), pxth, 1, data, prev);
+        if (edit == null)
+        {
+            return curr;
+        }
+
+        return curr.with(name, edit, null);
+    }
+
+    /**
+     * @return The version following the provided one without the value at the path, or the provided version if nothing changed
+     */
+    private static @NotNull Root removed(@NotNull final Root curr, @NotNull final Pxth pxth, @NotNull final JsonElement[] prev)
+    {
+        final var name = pxth.node(0).name();
+
+        if (pxth.size() == 1)
+        {
+            return curr.without(name, prev);
+        }
+
+        final var json = curr.get(name);
+        if (json == null)
+        {
+            return curr;
+        }
+
+        final var edit = without(json, pxth, 1, prev);
+        if (edit == null)
+        {
+            return curr;
+        }
+
+        return curr.with(name, edit, null);
+    }
+
+    /**
+     * @return A copy of the provided container with the data placed at the path, or null if the path cannot be created
+     */
+    private static @Nullable JsonElement with(@NotNull final JsonElement json, @NotNull final Pxth pxth, final int index, @NotNull final JsonElement data, @NotNull final JsonElement[] prev)
+    {
+        final var node = pxth.node(index);
+        final var last = index == pxth.size() - 1;
+
+        if (json.isJsonObject())
+        {
+            var child = last ? data : json.getAsJsonObject().get(node.name());
+
+            if (!last)
+            {
+                child = with(child != null ? child : new JsonObject(), pxth, index + 1, data, prev);
+                if (child == null)
+                {
+                    return null;
+                }
+            }
+
+            final var copy = JsonNodes.copy(json).getAsJsonObject();
+
+            final var replaced = copy.remove(node.name());
+            if (last)
+            {
+                prev[0] = replaced;
+            }
+
+            copy.add(node.name(), child);
+
+            return copy;
+        }
+
+        if (json.isJsonArray())
+        {
+            var child = JsonNodes.child(json.getAsJsonArray(), node);
+            if (child == null)
+            {
+                return null;
+            }
+
+            if (last)
+            {
+                prev[0] = child;
+                child = data;
+            }
+            else
+            {
+                child = with(child, pxth, index + 1, data, prev);
+                if (child == null)
+                {
+                    return null;
+                }
+            }
+
+            final var copy = JsonNodes.copy(json).getAsJsonArray();
+            copy.set(node.index(), child);
+
+            return copy;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return A copy of the provided container without the value at the path, or null if nothing was removed
+     */
+    private static @Nullable JsonElement without(@NotNull final JsonElement json, @NotNull final Pxth pxth, final int index, @NotNull final JsonElement[] prev)
+    {
+        final var node  = pxth.node(index);
+        final var child = JsonNodes.child(json, node);
+
+        if (child == null)
+        {
+            return null;
+        }
+
+        if (index == pxth.size() - 1)
+        {
+            final var copy = JsonNodes.copy(json);
+
+            if (copy.isJsonObject())
+            {
+                prev[0] = copy.getAsJsonObject().remove(node.name());
+            }
+            else
+            {
+                prev[0] = copy.getAsJsonArray().remove(node.index());
+            }
+
+            return copy;
+        }
+
+        final var edit = without(child, pxth, index + 1, prev);
+        if (edit == null)
+        {
+            return null;
+        }
+
+        final var copy = JsonNodes.copy(json);
+
+        if (copy.isJsonObject())
+        {
+            copy.getAsJsonObject().add(node.name(), edit);
+        }
+        else
+        {
+            copy.getAsJsonArray().set(node.index(), edit);
+        }
+
+        return copy;
+    }
+
+
+    /**
+     * @return The new empty {@link PersistentJsonMap}
+     */
+    @AvailableSince("1.2.0")
+    @Contract(" -> new")
+    public static @NotNull PersistentJsonMap create()
+    {
+        return new PersistentJsonMap(Root.EMPTY);
+    }
+
+    /**
+     * @return The new {@link PersistentJsonMap} holding the entries of the provided data {@link Map}
+     */
+    @AvailableSince("1.2.0")
+    @Contract("_ -> new")
+    public static @NotNull PersistentJsonMap create(@NotNull final Map<String, JsonElement> data)
+    {
+        var root = Root.EMPTY;
+
+        for (final var entry : data.entrySet())
+        {
+            root = root.with(entry.getKey(), entry.getValue(), null);
+        }
+
+        return new PersistentJsonMap(root);
+    }
+
+
+    private final class View extends AbstractMap<String, JsonElement>
+    {
+
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return get(key) != null;
+        }
+
+        @Override
+        public @Nullable JsonElement get(final Object key)
+        {
+            return key instanceof String name ? PersistentJsonMap.this.root.get().get(name) : null;
+        }
+
+        @Override
+        public int size()
+        {
+            return PersistentJsonMap.this.root.get().size();
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, JsonElement>> entrySet()
+        {
+            final var root = PersistentJsonMap.this.root.get();
+
+            return new AbstractSet<>()
+            {
+                @Override
+                public @NotNull Iterator<Entry<String, JsonElement>> iterator()
+                {
+                    return new Leaves(root.trie());
+                }
+
+                @Override
+                public int size()
+                {
+                    return root.size();
+                }
+            };
+        }
+
+    }
+
+
+    private record Root(@NotNull Trie trie, int size)
+    {
+
+        private static final Root EMPTY = new Root(Trie.EMPTY, 0);
+
+
+        @Nullable JsonElement get(@NotNull final String name)
+        {
+            final var leaf = this.trie.get(name, name.hashCode(), 0);
+            return leaf != null ? leaf.value() : null;
+        }
+
+        @NotNull Root with(@NotNull final String name, @NotNull final JsonElement json, @Nullable final JsonElement[] prev)
+        {
+            final var replaced = new Leaf[1];
+            final var trie     = this.trie.with(new Leaf(name, name.hashCode(), json), 0, replaced);
+
+            if (prev != null && replaced[0] != null)
+            {
+                prev[0] = replaced[0].value();
+            }
+
+            return new Root(trie, replaced[0] != null ? this.size : this.size + 1);
+        }
+
+        @NotNull Root without(@NotNull final String name, @NotNull final JsonElement[] prev)
+        {
+            final var removed = new Leaf[1];
+            final var trie    = this.trie.without(name, name.hashCode(), 0, removed);
+
+            if (removed[0] == null)
+            {
+                return this;
+            }
+
+            prev[0] = removed[0].value();
+
+            return new Root(trie, this.size - 1);
+        }
+
+    }
+
+    private record Leaf(@NotNull String key, int hash, @NotNull JsonElement value) implements Map.Entry<String, JsonElement>
+    {
+
+        @Override
+        public @NotNull String getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public @NotNull JsonElement getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public JsonElement setValue(final JsonElement value)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+
+        /**
+         * Equal to any {@link Map.Entry} with an equal key and value, ignoring the cached hash, as the entry contract requires
+         */
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof Map.Entry<?, ?> that && this.key.equals(that.getKey()) && this.value.equals(that.getValue());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.key.hashCode() ^ this.value.hashCode();
+        }
+
+    }
+
+    /**
+     * A bitmap indexed node, each slot is either a {@link Leaf}, a nested {@link Trie}, or a {@link Collision} once the hash is exhausted
+     */
+    private record Trie(int bitmap, @NotNull Object[] slots)
+    {
+
+        private static final Trie EMPTY = new Trie(0, new Object[0]);
+
+
+        @Nullable Leaf get(@NotNull final String key, final int hash, final int shift)
+        {
+            final var bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0)
+            {
+                return null;
+            }
+
+            final var slot = this.slots[Integer.bitCount(this.bitmap & (bit - 1))];
+
+            if (slot instanceof Leaf leaf)
+            {
+                return leaf.hash() == hash && leaf.key().equals(key) ? leaf : null;
+            }
+            if (slot instanceof Trie trie)
+            {
+                return trie.get(key, hash, shift + BITS);
+            }
+
+            return ((Collision) slot).get(key);
+        }
+
+        @NotNull Trie with(@NotNull final Leaf leaf, final int shift, @NotNull final Leaf[] replaced)
+        {
+            final var bit = 1 << ((leaf.hash() >>> shift) & MASK);
+            final var idx = Integer.bitCount(this.bitmap & (bit - 1));
+
+            if ((this.bitmap & bit) == 0)
+            {
+                final var slots = new Object[this.slots.length + 1];
+
+                System.arraycopy(this.slots, 0, slots, 0, idx);
+                System.arraycopy(this.slots, idx, slots, idx + 1, this.slots.length - idx);
+                slots[idx] = leaf;
+
+                return new Trie(this.bitmap | bit, slots);
+            }
+
+            final var slot = this.slots[idx];
+            final Object edit;
+
+            if (slot instanceof Leaf prev)
+            {
+                if (prev.hash() == leaf.hash() && prev.key().equals(leaf.key()))
+                {
+                    replaced[0] = prev;
+                    edit = leaf;
+                }
+                else
+                {
+                    edit = merge(prev, leaf, shift + BITS);
+                }
+            }
+            else if (slot instanceof Trie trie)
+            {
+                edit = trie.with(leaf, shift + BITS, replaced);
+            }
+            else
+            {
+                edit = ((Collision) slot).with(leaf, replaced);
+            }
+
+            final var slots = this.slots.clone();
+            slots[idx] = edit;
+
+            return new Trie(this.bitmap, slots);
+        }
+
+        @NotNull Trie without(@NotNull final String key, final int hash, final int shift, @NotNull final Leaf[] removed)
+        {
+            final var bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0)
+            {
+                return this;
+            }
+
+            final var idx  = Integer.bitCount(this.bitmap & (bit - 1));
+            final var slot = this.slots[idx];
+
+            Object edit;
+
+            if (slot instanceof Leaf leaf)
+            {
+                if (leaf.hash() != hash || !leaf.key().equals(key))
+                {
+                    return this;
+                }
+
+                removed[0] = leaf;
+                edit = null;
+            }
+            else if (slot instanceof Trie trie)
+            {
+                final var next = trie.without(key, hash, shift + BITS, removed);
+                if (next == trie)
+                {
+                    return this;
+                }
+
+                // pull a lone leaf back up so the trie stays as shallow as possible
+                edit = next.slots.length == 0 ? null : next.slots.length == 1 && next.slots[0] instanceof Leaf only ? only : next;
+            }
+            else
+            {
+                final var collision = (Collision) slot;
+
+                edit = collision.without(key, removed);
+                if (edit == collision)
+                {
+                    return this;
+                }
+            }
+
+            if (edit != null)
+            {
+                final var slots = this.slots.clone();
+                slots[idx] = edit;
+
+                return new Trie(this.bitmap, slots);
+            }
+
+            final var slots = new Object[this.slots.length - 1];
+
+            System.arraycopy(this.slots, 0, slots, 0, idx);
+            System.arraycopy(this.slots, idx + 1, slots, idx, slots.length - idx);
+
+            return new Trie(this.bitmap & ~bit, slots);
+        }
+
+
+        private static @NotNull Object merge(@NotNull final Leaf a, @NotNull final Leaf b, final int shift)
+        {
+            if (shift >= Integer.SIZE)
+            {
+                return new Collision(new Leaf[]{a, b});
+            }
+
+            final var ia = (a.hash() >>> shift) & MASK;
+            final var ib = (b.hash() >>> shift) & MASK;
+
+            if (ia == ib)
+            {
+                return new Trie(1 << ia, new Object[]{merge(a, b, shift + BITS)});
+            }
+
+            return new Trie((1 << ia) | (1 << ib), ia < ib ? new Object[]{a, b} : new Object[]{b, a});
+        }
+
+    }
+
+    /**
+     * Leaves whose full hashes are equal
+     */
+    private record Collision(@NotNull Leaf[] leaves)
+    {
+
+        @Nullable Leaf get(@NotNull final String key)
+        {
+            for (final var leaf : this.leaves)
+            {
+                if (leaf.key().equals(key))
+                {
+                    return leaf;
+                }
+            }
+
+            return null;
+        }
+
+        @NotNull Collision with(@NotNull final Leaf leaf, @NotNull final Leaf[] replaced)
+        {
+            for (int i = 0; i < this.leaves.length; i++)
+            {
+                if (this.leaves[i].key().equals(leaf.key()))
+                {
+                    replaced[0] = this.leaves[i];
+
+                    final var leaves = this.leaves.clone();
+                    leaves[i] = leaf;
+
+                    return new Collision(leaves);
+                }
+            }
+
+            final var leaves = Arrays.copyOf(this.leaves, this.leaves.length + 1);
+            leaves[this.leaves.length] = leaf;
+
+            return new Collision(leaves);
+        }
+
+        @NotNull Object without(@NotNull final String key, @NotNull final Leaf[] removed)
+        {
+            for (int i = 0; i < this.leaves.length; i++)
+            {
+                if (!this.leaves[i].key().equals(key))
+                {
+                    continue;
+                }
+
+                removed[0] = this.leaves[i];
+
+                if (this.leaves.length == 2)
+                {
+                    return this.leaves[1 - i];
+                }
+
+                final var leaves = new Leaf[this.leaves.length - 1];
+
+                System.arraycopy(this.leaves, 0, leaves, 0, i);
+                System.arraycopy(this.leaves, i + 1, leaves, i, leaves.length - i);
+
+                return new Collision(leaves);
+            }
+
+            return this;
+        }
+
+    }
+
+    /**
+     * Depth first iterator over every {@link Leaf} of a {@link Trie}
+     */
+    private static final class Leaves implements Iterator<Map.Entry<String, JsonElement>>
+    {
+
+        @NotNull
+        private final ArrayDeque<Iterator<Object>> stack = new ArrayDeque<>();
+        @Nullable
+        private       Leaf                         next;
+
+
+        private Leaves(@NotNull final Trie trie)
+        {
+            this.stack.push(Arrays.asList(trie.slots()).iterator());
+            advance();
+        }
+
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.next != null;
+        }
+
+        @Override
+        public @NotNull Map.Entry<String, JsonElement> next()
+        {
+            final var leaf = this.next;
+            if (leaf == null)
+            {
+                throw new NoSuchElementException();
+            }
+
+            advance();
+
+            return leaf;
+        }
+
+
+        private void advance()
+        {
+            this.next = null;
+
+            while (!this.stack.isEmpty())
+            {
+                final var iterator = this.stack.peek();
+                if (!iterator.hasNext())
+                {
+                    this.stack.pop();
+                    continue;
+                }
+
+                final var slot = iterator.next();
+
+                if (slot instanceof Leaf leaf)
+                {
+                    this.next = leaf;
+                    return;
+                }
+
+                this.stack.push(Arrays.asList(slot instanceof Trie trie ? trie.slots() : ((Collision) slot).leaves()).iterator());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+import com.sxtanna.mc.json.pxth.PxthSet;
+
+import com.google.gson.JsonElement;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link JsonMap} returned by {@link JsonMap#create(Map)}
+ * <p>
+ * Once a snapshot has been taken, nested containers are shared with it and copied lazily, the first time either side modifies them.
+ */
+final class SimpleJsonMap implements JsonMap
+{
+
+    @NotNull
+    private final Map<String, JsonElement> data;
+    /**
+     * Containers this map may modify in place, null until the first snapshot, after which every other container may be shared
+     */
+    @Nullable
+    private       Set<JsonElement>         owned;
+    @NotNull
+    private final PxthSet                  dirty = new PxthSet();
+    /**
+     * Bumped whenever a container may have been removed, replaced, or shifted within an array
+     */
+    private       long                     version;
+
+
+    SimpleJsonMap(@NotNull final Map<String, JsonElement> data)
+    {
+        this.data = data;
+    }
+
+
+    @Override
+    public @NotNull Map<String, JsonElement> data()
+    {
+        return this.data;
+    }
+
+
+    @Override
+    public @NotNull JsonElement remove(@NotNull final Pxth pxth)
+    {
+        own(pxth);
+
+        // an absent path and a stored null both remove as null, only the latter modifies this map
+        if (JsonNodes.stored(this.data, pxth) != null)
+        {
+            this.dirty.add(pxth);
+        }
+
+        final var prev = JsonMap.super.remove(pxth);
+
+        if (isContainer(prev) || (!pxth.isEmpty() && pxth.node(pxth.size() - 1).indexed()))
+        {
+            this.version++;
+        }
+
+        return prev;
+    }
+
+    @Override
+    public @NotNull JsonElement insert(@NotNull final Pxth pxth, @NotNull final JsonElement data)
+    {
+        own(pxth);
+
+        final var prev = JsonMap.super.insert(pxth, data);
+
+        // a blocked insert returns null too, so a null previous value only counts once the data is actually stored
+        if (prev.isJsonNull() ? JsonNodes.stored(this.data, pxth) == data : !prev.equals(data))
+        {
+            this.dirty.add(pxth);
+        }
+
+        if (isContainer(prev))
+        {
+            this.version++;
+        }
+
+        return prev;
+    }
+
+
+    @Override
+    public @NotNull JsonBatch apply(@NotNull final JsonBatch batch)
+    {
+        for (final var op : batch.ops())
+        {
+            own(op.pxth());
+            this.dirty.add(op.pxth());
+        }
+
+        this.version++;
+        return JsonMap.super.apply(batch);
+    }
+
+
+    @Override
+    public long version()
+    {
+        return this.version;
+    }
+
+
+    @Override
+    public @NotNull JsonMap snapshot()
+    {
+        final var snapshot = new SimpleJsonMap(new LinkedHashMap<>(this.data));
+
+        snapshot.owned = identitySet();
+        this.owned = identitySet();
+
+        return snapshot;
+    }
+
+    @Override
+    public void restore(@NotNull final JsonMap snapshot)
+    {
+        if (snapshot == this)
+        {
+            return;
+        }
+
+        this.dirty.add(Pxth.NONE);
+        this.version++;
+
+        if (!(snapshot instanceof SimpleJsonMap simple))
+        {
+            this.owned = null;
+            JsonMap.super.restore(snapshot);
+            return;
+        }
+
+        this.data.clear();
+        this.data.putAll(simple.data);
+
+        simple.owned = identitySet();
+        this.owned = identitySet();
+    }
+
+
+    @Override
+    public @NotNull @Unmodifiable Set<Pxth> dirtyPaths()
+    {
+        return Collections.unmodifiableSet(new PxthSet(this.dirty));
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return !this.dirty.isEmpty();
+    }
+
+    @Override
+    public void clearDirty()
+    {
+        this.dirty.clear();
+    }
+
+    @Override
+    public void markDirty(@NotNull final Collection<Pxth> paths)
+    {
+        this.dirty.addAll(paths);
+    }
+
+
+    /**
+     * Copy every shared container between the root and the parent of the provided path
+     */
+    private void own(@NotNull final Pxth pxth)
+    {
+        final var owned = this.owned;
+        if (owned == null || pxth.size() < 2)
+        {
+            return;
+        }
+
+        final var name = pxth.node(0).name();
+
+        var json = this.data.get(name);
+        if (json == null || (!json.isJsonObject() && !json.isJsonArray()))
+        {
+            return;
+        }
+
+        if (!owned.contains(json))
+        {
+            json = JsonNodes.copy(json);
+
+            this.data.put(name, json);
+            owned.add(json);
+
+            this.version++;
+        }
+
+        for (int i = 1; i < pxth.size() - 1; i++)
+        {
+            final var node = pxth.node(i);
+
+            var next = JsonNodes.child(json, node);
+            if (next == null || (!next.isJsonObject() && !next.isJsonArray()))
+            {
+                return;
+            }
+
+            if (!owned.contains(next))
+            {
+                next = JsonNodes.copy(next);
+
+                if (json.isJsonObject())
+                {
+                    json.getAsJsonObject().add(node.name(), next);
+                }
+                else
+                {
+                    json.getAsJsonArray().set(node.index(), next);
+                }
+
+                owned.add(next);
+
+                this.version++;
+            }
+
+            json = next;
+        }
+    }
+
+
+    private static boolean isContainer(@NotNull final JsonElement json)
+    {
+        return json.isJsonObject() || json.isJsonArray();
+    }
+
+    private static @NotNull Set<JsonElement> identitySet()
+    {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+}
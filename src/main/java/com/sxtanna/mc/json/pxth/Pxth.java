@@ -1,21 +1,27 @@
 package com.sxtanna.mc.json.pxth;
 
 import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a traversable path through a {@link com.sxtanna.mc.json.JsonMap}
  * <ul>
  *   <li>Each individual {@link String} within the {@link Pxth#path} should be a valid JSON key. (or a whole number {@link Integer})</li>
+ *   <li>Each key is compiled once into a {@link Pxth.Node}, so traversal never has to parse it again.</li>
  * </ul>
  */
 @AvailableSince("0.1.0")
-public record Pxth(@NotNull @Unmodifiable List<String> path)
+public final class Pxth implements Comparable<Pxth>
 {
 
     /**
@@ -24,9 +30,179 @@ public record Pxth(@NotNull @Unmodifiable List<String> path)
     @NotNull
     public static final Pxth NONE = new Pxth(Collections.emptyList());
 
+    /**
+     * The maximum amount of {@link Pxth} instances retained by {@link Pxth#of(String)} before its pool is cleared
+     */
+    @AvailableSince("1.2.0")
+    public static final int INTERN_LIMIT = 4096;
+
+    @NotNull
+    private static final Map<String, Pxth> INTERNED = new ConcurrentHashMap<>();
+
+
+    @NotNull
+    @Unmodifiable
+    private final List<String> path;
+    @NotNull
+    private final Node[]       node;
+    private final int          hash;
+
+
+    /**
+     * @param path The individual json keys that make up the path
+     */
+    @AvailableSince("0.1.0")
+    public Pxth(@NotNull @Unmodifiable final List<String> path)
+    {
+        this.path = path;
+        this.node = new Node[path.size()];
+
+        for (int i = 0; i < this.node.length; i++)
+        {
+            final var name = path.get(i);
+            this.node[i] = new Node(name, Node.index(name));
+        }
+
+        this.hash = path.hashCode();
+    }
+
+
+    /**
+     * @return The individual json keys that make up this path
+     */
+    @AvailableSince("0.1.0")
+    public @NotNull @Unmodifiable List<String> path()
+    {
+        return this.path;
+    }
+
+    /**
+     * @return The amount of keys in this path
+     */
+    @AvailableSince("1.2.0")
+    public int size()
+    {
+        return this.node.length;
+    }
+
+    /**
+     * @return True if this path contains no keys
+     */
+    @AvailableSince("1.2.0")
+    public boolean isEmpty()
+    {
+        return this.node.length == 0;
+    }
+
+    /**
+     * @param index The position of the key in this path
+     * @return The compiled {@link Pxth.Node} at the provided position
+     * @throws IndexOutOfBoundsException if the index is outside this path
+     */
+    @AvailableSince("1.2.0")
+    public @NotNull Node node(final int index)
+    {
+        return this.node[index];
+    }
+
+
+    /**
+     * @param name The json key to append
+     * @return The new {@link Pxth} made of this path followed by the provided key
+     */
+    @AvailableSince("1.2.0")
+    @Contract(value = "_ -> new", pure = true)
+    public @NotNull Pxth child(@NotNull final String name)
+    {
+        final var path = new String[this.node.length + 1];
+
+        for (int i = 0; i < this.node.length; i++)
+        {
+            path[i] = this.node[i].name();
+        }
+
+        path[this.node.length] = name;
+
+        return new Pxth(List.of(path));
+    }
+
+    /**
+     * @param prefix The path to compare against
+     * @return True if this path is equal to, or nested within, the provided path
+     */
+    @AvailableSince("1.2.0")
+    public boolean startsWith(@NotNull final Pxth prefix)
+    {
+        if (prefix.node.length > this.node.length)
+        {
+            return false;
+        }
+
+        for (int i = prefix.node.length - 1; i >= 0; i--)
+        {
+            if (!this.node[i].name().equals(prefix.node[i].name()))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Orders paths key by key, a path sorts directly before the paths nested within it
+     */
+    @Override
+    public int compareTo(@NotNull final Pxth that)
+    {
+        final var size = Math.min(this.node.length, that.node.length);
+
+        for (int i = 0; i < size; i++)
+        {
+            final var compare = this.node[i].name().compareTo(that.node[i].name());
+            if (compare != 0)
+            {
+                return compare;
+            }
+        }
+
+        return Integer.compare(this.node.length, that.node.length);
+    }
+
+
+    @Override
+    public boolean equals(@Nullable final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Pxth that))
+        {
+            return false;
+        }
+
+        return this.hash == that.hash && this.path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hash;
+    }
+
+    @Override
+    public @NotNull String toString()
+    {
+        return "Pxth[path=" + this.path + "]";
+    }
+
 
     /**
      * Attempts to create a {@link Pxth} from a single {@code path} String, splitting on '{@code .}'
+     * <p>
+     * Results are interned, repeated calls with an equal path return the same instance without allocating.
      *
      * @param path The optionally period delimited path
      * @return The new {@link Pxth}, or {@link Pxth#NONE} if the path is blank
@@ -34,7 +210,23 @@ public record Pxth(@NotNull @Unmodifiable List<String> path)
     @AvailableSince("0.1.0")
     public static @NotNull Pxth of(@NotNull final String path)
     {
-        return path.isBlank() ? NONE : of(path.split("\\."));
+        final var pxth = INTERNED.get(path);
+        if (pxth != null)
+        {
+            return pxth;
+        }
+
+        if (path.isBlank())
+        {
+            return NONE;
+        }
+
+        if (INTERNED.size() >= INTERN_LIMIT)
+        {
+            INTERNED.clear();
+        }
+
+        return INTERNED.computeIfAbsent(path, Pxth::split);
     }
 
     /**
@@ -61,4 +253,77 @@ public record Pxth(@NotNull @Unmodifiable List<String> path)
         return path.isEmpty() ? NONE : new Pxth(List.copyOf(path));
     }
 
+
+    private static @NotNull Pxth split(@NotNull final String path)
+    {
+        final var keys = new ArrayList<String>();
+
+        int last = 0;
+        int next;
+
+        while ((next = path.indexOf('.', last)) != -1)
+        {
+            keys.add(path.substring(last, next));
+            last = next + 1;
+        }
+
+        keys.add(path.substring(last));
+
+        // match String#split, which drops trailing empty keys
+        int size = keys.size();
+        while (size > 0 && keys.get(size - 1).isEmpty())
+        {
+            size--;
+        }
+
+        return size == 0 ? NONE : new Pxth(List.copyOf(keys.subList(0, size)));
+    }
+
+
+    /**
+     * A single compiled key of a {@link Pxth}, tagged with its array index if it is a whole number
+     *
+     * @param name  The raw json key
+     * @param index The array index this key represents, or {@code -1} if it is not a whole number
+     */
+    @AvailableSince("1.2.0")
+    public record Node(@NotNull String name, int index)
+    {
+
+        /**
+         * @return True if this key can be used as an index into a {@link com.google.gson.JsonArray}
+         */
+        @AvailableSince("1.2.0")
+        @Contract(pure = true)
+        public boolean indexed()
+        {
+            return this.index >= 0;
+        }
+
+
+        private static int index(@NotNull final String name)
+        {
+            if (name.isEmpty() || name.length() > 10)
+            {
+                return -1;
+            }
+
+            long value = 0;
+
+            for (int i = 0; i < name.length(); i++)
+            {
+                final var c = name.charAt(i);
+                if (c < '0' || c > '9')
+                {
+                    return -1;
+                }
+
+                value = value * 10 + (c - '0');
+            }
+
+            return value > Integer.MAX_VALUE ? -1 : (int) value;
+        }
+
+    }
+
 }
@@ -0,0 +1,298 @@
+package com.sxtanna.mc.json.pxth;
+
+import org.jetbrains.annotations.ApiStatus.AvailableSince;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of {@link Pxth} that holds no path nested within another
+ * <ul>
+ *   <li>Adding a path already covered by one of its prefixes leaves the set unchanged.</li>
+ *   <li>Adding a path removes every path nested within it.</li>
+ *   <li>Paths are held in a trie of their keys, so adding and testing a path is linear in its size, not in the size of the set.</li>
+ *   <li>This set is not thread safe.</li>
+ * </ul>
+ */
+@AvailableSince("1.2.0")
+public final class PxthSet extends AbstractSet<Pxth>
+{
+
+    @NotNull
+    private final Branch root = new Branch();
+    private       int    size;
+
+
+    @AvailableSince("1.2.0")
+    public PxthSet()
+    {
+    }
+
+    /**
+     * @param paths The paths to add to the new set
+     */
+    @AvailableSince("1.2.0")
+    public PxthSet(@NotNull final Collection<Pxth> paths)
+    {
+        addAll(paths);
+    }
+
+
+    /**
+     * @return True if the path was added, false if it, or one of its prefixes, was already in this set
+     */
+    @Override
+    public boolean add(@NotNull final Pxth pxth)
+    {
+        var branch = this.root;
+
+        for (int i = 0; i < pxth.size(); i++)
+        {
+            if (branch.pxth != null)
+            {
+                return false;
+            }
+
+            branch = branch.children().computeIfAbsent(pxth.node(i).name(), name -> new Branch());
+        }
+
+        if (branch.pxth != null)
+        {
+            return false;
+        }
+
+        this.size -= branch.count();
+        this.size++;
+
+        branch.pxth     = pxth;
+        branch.children = null;
+
+        return true;
+    }
+
+    @Override
+    public boolean remove(@Nullable final Object o)
+    {
+        if (!(o instanceof Pxth pxth))
+        {
+            return false;
+        }
+
+        final var trail = new Branch[pxth.size() + 1];
+        trail[0] = this.root;
+
+        for (int i = 0; i < pxth.size(); i++)
+        {
+            final var children = trail[i].children;
+            if (children == null || (trail[i + 1] = children.get(pxth.node(i).name())) == null)
+            {
+                return false;
+            }
+        }
+
+        final var branch = trail[pxth.size()];
+        if (branch.pxth == null)
+        {
+            return false;
+        }
+
+        branch.pxth = null;
+        this.size--;
+
+        // prune the branches left empty
+        for (int i = pxth.size(); i > 0 && trail[i].pxth == null && (trail[i].children == null || trail[i].children.isEmpty()); i--)
+        {
+            trail[i - 1].children.remove(pxth.node(i - 1).name());
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean contains(@Nullable final Object o)
+    {
+        if (!(o instanceof Pxth pxth))
+        {
+            return false;
+        }
+
+        final var branch = find(pxth);
+        return branch != null && branch.pxth != null;
+    }
+
+    /**
+     * @param pxth The path to test
+     * @return True if the provided path, or one of its prefixes, is in this set
+     */
+    @AvailableSince("1.2.0")
+    public boolean covers(@NotNull final Pxth pxth)
+    {
+        var branch = this.root;
+
+        for (int i = 0; i < pxth.size(); i++)
+        {
+            if (branch.pxth != null)
+            {
+                return true;
+            }
+
+            if (branch.children == null || (branch = branch.children.get(pxth.node(i).name())) == null)
+            {
+                return false;
+            }
+        }
+
+        return branch.pxth != null;
+    }
+
+    /**
+     * @param pxth The path to test
+     * @return True if the provided path, one of its prefixes, or a path nested within it, is in this set
+     */
+    @AvailableSince("1.2.0")
+    public boolean overlaps(@NotNull final Pxth pxth)
+    {
+        if (covers(pxth))
+        {
+            return true;
+        }
+
+        final var branch = find(pxth);
+        return branch != null && branch.count() > 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.root.pxth     = null;
+        this.root.children = null;
+
+        this.size = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public @NotNull Iterator<Pxth> iterator()
+    {
+        final var paths = new ArrayList<Pxth>(this.size);
+        this.root.collect(paths);
+
+        final var iterator = paths.iterator();
+
+        return new Iterator<>()
+        {
+            private Pxth last;
+
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Pxth next()
+            {
+                return this.last = iterator.next();
+            }
+
+            @Override
+            public void remove()
+            {
+                if (this.last == null)
+                {
+                    throw new IllegalStateException();
+                }
+
+                PxthSet.this.remove(this.last);
+                this.last = null;
+            }
+        };
+    }
+
+
+    private @Nullable Branch find(@NotNull final Pxth pxth)
+    {
+        var branch = this.root;
+
+        for (int i = 0; i < pxth.size(); i++)
+        {
+            if (branch.children == null || (branch = branch.children.get(pxth.node(i).name())) == null)
+            {
+                return null;
+            }
+        }
+
+        return branch;
+    }
+
+
+    private static final class Branch
+    {
+
+        @Nullable
+        private Pxth                pxth;
+        @Nullable
+        private Map<String, Branch> children;
+
+
+        private @NotNull Map<String, Branch> children()
+        {
+            if (this.children == null)
+            {
+                this.children = new HashMap<>(4);
+            }
+
+            return this.children;
+        }
+
+        /**
+         * @return The amount of paths held below this branch
+         */
+        private int count()
+        {
+            if (this.children == null)
+            {
+                return 0;
+            }
+
+            int count = 0;
+
+            for (final var child : this.children.values())
+            {
+                count += (child.pxth != null ? 1 : 0) + child.count();
+            }
+
+            return count;
+        }
+
+        private void collect(@NotNull final List<Pxth> paths)
+        {
+            if (this.pxth != null)
+            {
+                paths.add(this.pxth);
+            }
+
+            if (this.children != null)
+            {
+                for (final var child : this.children.values())
+                {
+                    child.collect(paths);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingJsonMapTest
+{
+
+    private static @NotNull JsonKey<Integer> counting(@NotNull final Pxth pxth, @NotNull final AtomicInteger decodes)
+    {
+        return JsonKey.of(pxth, Integer.class, JsonPrimitive::new, json ->
+        {
+            decodes.incrementAndGet();
+            return json.isJsonNull() ? null : json.getAsInt();
+        });
+    }
+
+
+    @Test
+    void testSelectMemoized()
+    {
+        final var map     = CachingJsonMap.of(JsonMap.create());
+        final var decodes = new AtomicInteger();
+        final var kills   = counting(Pxth.of("stats.kills"), decodes);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(10));
+
+        assertEquals(10, map.select(kills, JsonMap.GSON));
+        assertEquals(10, map.select(kills, JsonMap.GSON));
+        assertEquals(1, decodes.get());
+    }
+
+    @Test
+    void testInvalidation()
+    {
+        final var map     = CachingJsonMap.of(JsonMap.create());
+        final var decodes = new AtomicInteger();
+        final var kills   = counting(Pxth.of("stats.kills"), decodes);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(10));
+        map.select(kills, JsonMap.GSON);
+
+        map.insert(Pxth.of("other"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(1));
+        assertEquals(10, map.select(kills, JsonMap.GSON));
+        assertEquals(1, decodes.get());
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(11));
+        assertEquals(11, map.select(kills, JsonMap.GSON));
+        assertEquals(2, decodes.get());
+
+        map.remove(Pxth.of("stats"));
+        assertEquals(null, map.select(kills, JsonMap.GSON));
+        assertEquals(3, decodes.get());
+    }
+
+    @Test
+    void testMatchesDelegate()
+    {
+        final var random = new Random(42);
+        final var plain  = JsonMap.create();
+        final var map    = CachingJsonMap.of(JsonMap.create(), 4, CachingJsonMap.Eviction.LRU);
+        final var paths  = List.of(Pxth.of("a"), Pxth.of("a.b"), Pxth.of("a.b.c"), Pxth.of("a.b.d"), Pxth.of("a.e"), Pxth.of("f"), Pxth.of("f.g"));
+        final var keys   = new ArrayList<JsonKey<JsonElement>>();
+
+        for (final var path : paths)
+        {
+            keys.add(JsonKey.of(path, JsonElement.class, json -> json, JsonElement::deepCopy));
+        }
+
+        for (int i = 0; i < 5_000; i++)
+        {
+            final var pxth = paths.get(random.nextInt(paths.size()));
+
+            if (random.nextBoolean())
+            {
+                plain.remove(pxth);
+                map.remove(pxth);
+            }
+            else
+            {
+                final var data = random.nextBoolean() ? new JsonPrimitive(i) : new JsonObject();
+                plain.insert(pxth, data);
+                map.insert(pxth, data.deepCopy());
+            }
+
+            for (int j = 0; j < 3; j++)
+            {
+                final var jKey = keys.get(random.nextInt(keys.size()));
+                assertEquals(plain.select(jKey.pxth()), map.select(jKey, JsonMap.GSON), jKey.pxth().toString());
+            }
+        }
+    }
+
+    @Test
+    void testEviction()
+    {
+        final var map     = CachingJsonMap.of(JsonMap.create(), 1, CachingJsonMap.Eviction.FIFO);
+        final var decodes = new AtomicInteger();
+        final var kills   = counting(Pxth.of("stats.kills"), decodes);
+        final var death   = counting(Pxth.of("stats.deaths"), decodes);
+
+        map.select(kills, JsonMap.GSON);
+        map.select(death, JsonMap.GSON);
+        map.select(kills, JsonMap.GSON);
+
+        assertEquals(3, decodes.get());
+    }
+
+    @Test
+    void testIncrementForwarded() throws Exception
+    {
+        final var map     = CachingJsonMap.of(ConcurrentJsonMap.create());
+        final var decodes = new AtomicInteger();
+        final var kills   = counting(Pxth.of("stats.kills"), decodes);
+
+        final var pool    = Executors.newFixedThreadPool(8);
+        final var futures = new ArrayList<Future<?>>();
+
+        for (int i = 0; i < 8; i++)
+        {
+            futures.add(pool.submit(() ->
+            {
+                for (int j = 0; j < 20_000; j++)
+                {
+                    map.increment(Pxth.of("stats.kills"), 1);
+                }
+            }));
+        }
+
+        for (final var future : futures)
+        {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        pool.shutdown();
+
+        assertEquals(160_000, map.select(kills, JsonMap.GSON));
+
+        map.increment(Pxth.of("stats.kills"), 1);
+        assertEquals(160_001, map.select(kills, JsonMap.GSON));
+        assertEquals(2, decodes.get());
+    }
+
+    @Test
+    void testTransactionForwarded()
+    {
+        final var map     = CachingJsonMap.of(ConcurrentJsonMap.create());
+        final var decodes = new AtomicInteger();
+        final var kills   = counting(Pxth.of("stats.kills"), decodes);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(10));
+        assertEquals(10, map.select(kills, JsonMap.GSON));
+
+        assertTrue(map.transaction(tx ->
+        {
+            tx.insert(Pxth.of("stats.kills"), new JsonPrimitive(11));
+
+            // the delegate buffers the write until the body returns
+            assertEquals(10, map.select(Pxth.of("stats.kills")).getAsInt());
+        }));
+
+        assertEquals(11, map.select(kills, JsonMap.GSON));
+        assertEquals(2, decodes.get());
+    }
+
+}
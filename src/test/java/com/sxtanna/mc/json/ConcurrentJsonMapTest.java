@@ -0,0 +1,97 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentJsonMapTest
+{
+
+    private static final int THREADS    = 8;
+    private static final int ITERATIONS = 2_000;
+
+
+    @Test
+    void testNoLostUpdates() throws Exception
+    {
+        final var map   = ConcurrentJsonMap.create(4);
+        final var pool  = Executors.newFixedThreadPool(THREADS);
+        final var start = new CountDownLatch(1);
+
+        try
+        {
+            final var tasks = new ArrayList<Future<?>>();
+
+            for (int t = 0; t < THREADS; t++)
+            {
+                final var thread = t;
+
+                tasks.add(pool.submit(() ->
+                {
+                    start.await();
+
+                    for (int i = 0; i < ITERATIONS; i++)
+                    {
+                        // siblings written by every thread into the same few sections
+                        map.insert(Pxth.of("section" + (i % 4), "thread" + thread + "_" + i), new JsonPrimitive(i));
+
+                        // a single counter contended by every thread
+                        map.compute(Pxth.of("counter", "total"), prev -> new JsonPrimitive(prev.isJsonNull() ? 1 : prev.getAsInt() + 1));
+
+                        // reads racing the writes above
+                        map.select(Pxth.of("section" + (i % 4)));
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (final var task : tasks)
+            {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        assertEquals(THREADS * ITERATIONS, map.select(Pxth.of("counter", "total")).getAsInt());
+
+        var written = 0;
+        for (int s = 0; s < 4; s++)
+        {
+            written += map.select(Pxth.of("section" + s)).getAsJsonObject().size();
+        }
+
+        assertEquals(THREADS * ITERATIONS, written);
+    }
+
+    @Test
+    void testSelectCopiesContainers()
+    {
+        final var map = ConcurrentJsonMap.create();
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+
+        final var stats = map.select(Pxth.of("stats"));
+        assertNotSame(map.data().get("stats"), stats);
+
+        stats.getAsJsonObject().add("deaths", new JsonPrimitive(1));
+        assertTrue(map.select(Pxth.of("stats.deaths")).isJsonNull());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingJsonMapTest
+{
+
+    private static final int THREADS    = 8;
+    private static final int ITERATIONS = 10_000;
+
+
+    @Test
+    void testConcurrentAdds() throws Exception
+    {
+        final var backing = ConcurrentJsonMap.create();
+        final var map     = CountingJsonMap.of(backing);
+        final var pool    = Executors.newFixedThreadPool(THREADS);
+        final var start   = new CountDownLatch(1);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(5));
+
+        try
+        {
+            final var tasks = new ArrayList<Future<?>>();
+
+            for (int t = 0; t < THREADS; t++)
+            {
+                tasks.add(pool.submit(() ->
+                {
+                    start.await();
+
+                    for (int i = 0; i < ITERATIONS; i++)
+                    {
+                        map.add(Pxth.of("stats.kills"), 1);
+                        map.increment(Pxth.of("stats.deaths"), 2);
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (final var task : tasks)
+            {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        // nothing is written into the delegate until the counters are read as json
+        assertEquals(5, backing.select(Pxth.of("stats.kills")).getAsInt());
+        assertTrue(backing.select(Pxth.of("stats.deaths")).isJsonNull());
+
+        assertEquals(5L + THREADS * ITERATIONS, map.selectLong(Pxth.of("stats.kills"), 0L));
+        assertEquals(5 + THREADS * ITERATIONS, map.select(Pxth.of("stats")).getAsJsonObject().get("kills").getAsInt());
+        assertEquals(2L * THREADS * ITERATIONS, backing.select(Pxth.of("stats.deaths")).getAsLong());
+    }
+
+    @Test
+    void testMaterialize()
+    {
+        final var backing = JsonMap.create();
+        final var map     = CountingJsonMap.of(backing);
+
+        map.add(Pxth.of("stats.kills"), 3);
+        map.clearDirty();
+
+        assertTrue(map.isDirty());
+        assertEquals(3, backing.select(Pxth.of("stats.kills")).getAsInt());
+
+        map.clearDirty();
+        assertFalse(map.isDirty());
+
+        map.add(Pxth.of("stats.kills"), 1);
+
+        final var writer = new StringWriter();
+        map.save(writer);
+
+        assertEquals("{\"stats\":{\"kills\":4}}", writer.toString());
+    }
+
+    @Test
+    void testInsertDiscardsCell()
+    {
+        final var map = CountingJsonMap.of(JsonMap.create());
+
+        map.add(Pxth.of("stats.kills"), 10);
+        map.insert(Pxth.of("stats"), new JsonPrimitive(0));
+        map.remove(Pxth.of("stats"));
+        map.add(Pxth.of("stats.kills"), 1);
+
+        assertEquals(1, map.selectInt(Pxth.of("stats.kills"), 0));
+        assertEquals(1, map.select(Pxth.of("stats.kills")).getAsInt());
+    }
+
+    @Test
+    void testFractionalSeedRejected()
+    {
+        final var map = CountingJsonMap.of(JsonMap.create());
+
+        map.insert(Pxth.of("stats.ratio"), new JsonPrimitive(2.5));
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2.0));
+
+        assertThrows(IllegalStateException.class, () -> map.add(Pxth.of("stats.ratio"), 1));
+        assertThrows(IllegalStateException.class, () -> map.increment(Pxth.of("stats.ratio"), 1));
+        assertEquals(2.5, map.select(Pxth.of("stats.ratio")).getAsDouble());
+
+        map.add(Pxth.of("stats.kills"), 1);
+        assertEquals(3, map.select(Pxth.of("stats.kills")).getAsLong());
+    }
+
+}
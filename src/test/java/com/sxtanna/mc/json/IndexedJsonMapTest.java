@@ -0,0 +1,116 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedJsonMapTest
+{
+
+    @Test
+    void testInvalidation()
+    {
+        final var map = IndexedJsonMap.of(JsonMap.create());
+
+        map.insertInt(Pxth.of("guild.region.spawn.x"), 1);
+        map.insertInt(Pxth.of("guild.region.spawn.y"), 2);
+        map.insertInt(Pxth.of("guild.name"), 3);
+
+        assertEquals(1, map.selectInt(Pxth.of("guild.region.spawn.x"), -1));
+        assertEquals(2, map.selectInt(Pxth.of("guild.region.spawn.y"), -1));
+        assertEquals(3, map.selectInt(Pxth.of("guild.name"), -1));
+        assertEquals(3, map.indexed());
+
+        // overwriting an ancestor drops every value beneath it
+        final var spawn = new JsonObject();
+        spawn.addProperty("x", 10);
+        map.insert(Pxth.of("guild.region"), new JsonObject());
+        map.insert(Pxth.of("guild.region.spawn"), spawn);
+
+        assertAll("indexed json map invalidation",
+                  () -> assertEquals(10, map.selectInt(Pxth.of("guild.region.spawn.x"), -1)),
+                  () -> assertEquals(-1, map.selectInt(Pxth.of("guild.region.spawn.y"), -1)),
+                  () -> assertEquals(3, map.selectInt(Pxth.of("guild.name"), -1)));
+
+        map.remove(Pxth.of("guild"));
+        assertTrue(map.select(Pxth.of("guild.name")).isJsonNull());
+    }
+
+    @Test
+    void testArrayShift()
+    {
+        final var map  = IndexedJsonMap.of(JsonMap.create());
+        final var list = new JsonArray();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        map.insert(Pxth.of("list"), list);
+
+        assertEquals("b", map.select(Pxth.of("list.1")).getAsString());
+        assertEquals("c", map.select(Pxth.of("list.2")).getAsString());
+
+        map.remove(Pxth.of("list.0"));
+
+        assertEquals("c", map.select(Pxth.of("list.1")).getAsString());
+        assertTrue(map.select(Pxth.of("list.2")).isJsonNull());
+    }
+
+    @Test
+    void testMatchesDelegate()
+    {
+        final var random = new Random(42);
+        final var plain  = JsonMap.create();
+        final var map    = IndexedJsonMap.of(PersistentJsonMap.create());
+        final var paths  = List.of(Pxth.of("a"), Pxth.of("a.b"), Pxth.of("a.b.c"), Pxth.of("a.b.d"), Pxth.of("a.e"), Pxth.of("f.0"), Pxth.of("f.1"));
+
+        for (int i = 0; i < 5_000; i++)
+        {
+            final var pxth = paths.get(random.nextInt(paths.size()));
+
+            switch (random.nextInt(4))
+            {
+                case 0 ->
+                {
+                    plain.remove(pxth);
+                    map.remove(pxth);
+                }
+                case 1 ->
+                {
+                    final var data = random.nextBoolean() ? new JsonPrimitive(i) : new JsonObject();
+                    plain.insert(pxth, data);
+                    map.insert(pxth, data.deepCopy());
+                }
+                case 2 ->
+                {
+                    final var data = new JsonArray();
+                    data.add(i);
+                    data.add(i + 1);
+                    plain.insert(pxth, data);
+                    map.insert(pxth, data.deepCopy());
+                }
+                default ->
+                {
+                    map.batch().insert(pxth, new JsonPrimitive(-i)).remove(paths.get(random.nextInt(paths.size()))).apply();
+                    plain.restore(map.snapshot());
+                }
+            }
+
+            for (final var path : paths)
+            {
+                assertEquals(plain.select(path), map.select(path), path.toString());
+            }
+        }
+    }
+
+}
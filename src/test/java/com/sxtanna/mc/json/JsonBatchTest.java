@@ -0,0 +1,300 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonBatchTest
+{
+
+    private static void fill(final JsonMap map)
+    {
+        final var list = new JsonArray();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(2));
+        map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+        map.insert(Pxth.of("list"), list);
+    }
+
+
+    @Test
+    void testPlanDropsReplaced()
+    {
+        final var batch = JsonMap.create().batch()
+                                 .insert(Pxth.of("stats.kills"), new JsonPrimitive(1))
+                                 .insert(Pxth.of("other"), new JsonPrimitive(1))
+                                 .remove(Pxth.of("stats"))
+                                 .insert(Pxth.of("other"), new JsonPrimitive(2));
+
+        final var plan = batch.plan();
+
+        assertAll("json batch plan",
+                  () -> assertEquals(4, batch.size()),
+                  () -> assertEquals(2, plan.size()),
+                  () -> assertTrue(plan.get(0).isRemove()),
+                  () -> assertEquals(2, plan.get(1).data().getAsInt()));
+    }
+
+    @Test
+    void testApplyMatchesSequential()
+    {
+        final var map = JsonMap.create();
+        final var seq = JsonMap.create();
+        fill(map);
+        fill(seq);
+
+        final var batch = map.batch()
+                             .insert(Pxth.of("stats.kills"), new JsonPrimitive(5))
+                             .insert(Pxth.of("stats.time.played"), new JsonPrimitive(3L))
+                             .insert(Pxth.of("list.1"), new JsonPrimitive("z"))
+                             .insert(Pxth.of("name.first"), new JsonPrimitive("blocked"))
+                             .insert(Pxth.of("stats.time.joined"), new JsonPrimitive(4L))
+                             .remove(Pxth.of("stats.deaths"));
+
+        for (final var op : batch.ops())
+        {
+            if (op.isRemove())
+            {
+                seq.remove(op.pxth());
+            }
+            else
+            {
+                seq.insert(op.pxth(), op.data());
+            }
+        }
+
+        batch.apply();
+
+        assertEquals(seq.data(), map.data());
+        assertEquals(4L, map.select(Pxth.of("stats.time.joined")).getAsLong());
+    }
+
+    @Test
+    void testArrayRemovesKeepOrder()
+    {
+        final var map = JsonMap.create();
+        fill(map);
+
+        map.batch()
+           .remove(Pxth.of("list.0"))
+           .insert(Pxth.of("list.0"), new JsonPrimitive("z"))
+           .apply();
+
+        final var expect = new JsonArray();
+        expect.add("z");
+        expect.add("c");
+
+        assertEquals(expect, map.select(Pxth.of("list")));
+    }
+
+    @Test
+    void testUndo()
+    {
+        for (final var map : List.of(JsonMap.create(), ConcurrentJsonMap.create(4), PersistentJsonMap.create(), CachingJsonMap.of(JsonMap.create())))
+        {
+            fill(map);
+
+            final var before = new HashMap<>(map.snapshot().data());
+
+            final var undo = map.batch()
+                                .insert(Pxth.of("stats.kills"), new JsonPrimitive(5))
+                                .insert(Pxth.of("created.deep.value"), new JsonPrimitive(1))
+                                .insert(Pxth.of("created.deep.other"), new JsonPrimitive(2))
+                                .remove(Pxth.of("name"))
+                                .remove(Pxth.of("list.1"))
+                                .apply();
+
+            final var expect = new JsonObject();
+            expect.addProperty("value", 1);
+            expect.addProperty("other", 2);
+
+            assertAll("json batch apply " + map.getClass().getSimpleName(),
+                      () -> assertEquals(5, map.select(Pxth.of("stats.kills")).getAsInt()),
+                      () -> assertEquals(expect, map.select(Pxth.of("created.deep"))),
+                      () -> assertTrue(map.select(Pxth.of("name")).isJsonNull()),
+                      () -> assertEquals("c", map.select(Pxth.of("list.1")).getAsString()),
+                      () -> assertTrue(map.isDirty()));
+
+            map.clearDirty();
+            undo.apply();
+
+            assertEquals(before, new HashMap<>(map.data()), map.getClass().getSimpleName());
+            assertTrue(map.isDirty());
+        }
+    }
+
+    @Test
+    void testDirty()
+    {
+        final var map = JsonMap.create();
+        fill(map);
+        map.clearDirty();
+
+        map.batch()
+           .insert(Pxth.of("stats.kills"), new JsonPrimitive(5))
+           .remove(Pxth.of("name"))
+           .apply();
+
+        assertEquals(Set.of(Pxth.of("stats.kills"), Pxth.of("name")), map.dirtyPaths());
+    }
+
+    @Test
+    void testUnbound()
+    {
+        final var batch = new JsonBatch(null, false).remove(Pxth.of("name"));
+        assertThrows(IllegalStateException.class, batch::apply);
+    }
+
+    @Test
+    void testDiff()
+    {
+        final var from = JsonMap.create();
+        final var to   = JsonMap.create();
+        fill(from);
+        fill(to);
+
+        to.insert(Pxth.of("stats.kills"), new JsonPrimitive(5));
+        to.insert(Pxth.of("stats.time.played"), new JsonPrimitive(3L));
+        to.remove(Pxth.of("stats.deaths"));
+        to.remove(Pxth.of("list.0"));
+        to.remove(Pxth.of("name"));
+        to.insert(List.of("a/b~c"), new JsonPrimitive(true));
+
+        final var diff = from.diff(to);
+
+        assertTrue(to.diff(to).isEmpty());
+        assertEquals(diff.size(), from.diff(to).size());
+
+        diff.apply();
+        assertEquals(to.data(), from.data());
+    }
+
+    @Test
+    void testDiffShared()
+    {
+        final var map = PersistentJsonMap.create();
+        fill(map);
+
+        for (int i = 0; i < 100; i++)
+        {
+            map.insert(Pxth.of("section" + i, "value"), new JsonPrimitive(i));
+        }
+
+        final var snapshot = map.snapshot();
+        map.insert(Pxth.of("section50.value"), new JsonPrimitive(-1));
+
+        final var diff = snapshot.diff(map);
+
+        assertEquals(List.of(new JsonBatch.Op(Pxth.of("section50.value"), new JsonPrimitive(-1))), diff.ops());
+        assertTrue(map.diff(map).isEmpty());
+    }
+
+    @Test
+    void testPatch()
+    {
+        final var from = JsonMap.create();
+        final var to   = JsonMap.create();
+        fill(from);
+        fill(to);
+
+        to.insert(Pxth.of("list.1"), new JsonPrimitive("z"));
+        to.insert(List.of("a/b~c", "d"), new JsonPrimitive(1));
+        to.remove(Pxth.of("stats.kills"));
+
+        final var patch = JsonParser.parseString(from.diff(to).toPatch().toString()).getAsJsonArray();
+
+        assertAll("json batch patch",
+                  () -> assertEquals("replace", patch.get(1).getAsJsonObject().get("op").getAsString()),
+                  () -> assertEquals("/list/1", patch.get(1).getAsJsonObject().get("path").getAsString()),
+                  () -> assertEquals("/a~1b~0c", patch.get(2).getAsJsonObject().get("path").getAsString()),
+                  () -> assertThrows(IllegalArgumentException.class, () -> from.batch(JsonParser.parseString("[{\"op\":\"move\",\"path\":\"/a\"}]").getAsJsonArray())));
+
+        from.apply(patch);
+        assertEquals(to.data(), from.data());
+    }
+
+    @Test
+    void testPatchOps()
+    {
+        final var map = JsonMap.create();
+        fill(map);
+
+        final var patch = map.batch()
+                             .insert(Pxth.of("scores.42"), new JsonPrimitive(1))
+                             .insert(Pxth.of("stats.kills"), new JsonPrimitive(2))
+                             .insert(Pxth.of("list.1"), new JsonPrimitive("z"))
+                             .insert(Pxth.of("list.7"), new JsonPrimitive("ignored"))
+                             .remove(Pxth.of("missing"))
+                             .insert(Pxth.of("scores.43"), new JsonPrimitive(3))
+                             .toPatch();
+
+        final var expect = JsonParser.parseString("[" +
+                                                  "{\"op\":\"add\",\"path\":\"/scores\",\"value\":{\"42\":1}}," +
+                                                  "{\"op\":\"add\",\"path\":\"/stats/kills\",\"value\":2}," +
+                                                  "{\"op\":\"replace\",\"path\":\"/list/1\",\"value\":\"z\"}," +
+                                                  "{\"op\":\"add\",\"path\":\"/scores/43\",\"value\":3}" +
+                                                  "]");
+
+        assertEquals(expect, patch);
+    }
+
+    @Test
+    void testPatchArrayAddRejected()
+    {
+        final var map  = JsonMap.create();
+        final var list = new JsonArray();
+        list.add(1);
+        list.add(2);
+
+        map.insert(Pxth.of("l"), list);
+
+        assertAll("json batch patch array add",
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.batch(JsonParser.parseString("[{\"op\":\"add\",\"path\":\"/l/0\",\"value\":0}]").getAsJsonArray())),
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.batch(JsonParser.parseString("[{\"op\":\"add\",\"path\":\"/l/-\",\"value\":9}]").getAsJsonArray())),
+                  // the array created earlier in the same patch is seen too
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.batch(JsonParser.parseString("[{\"op\":\"add\",\"path\":\"/m\",\"value\":[]},{\"op\":\"add\",\"path\":\"/m/-\",\"value\":9}]").getAsJsonArray())),
+                  () -> assertEquals(list, map.select(Pxth.of("l"))));
+
+        map.apply(JsonParser.parseString("[{\"op\":\"replace\",\"path\":\"/l/0\",\"value\":0}]").getAsJsonArray());
+        assertEquals(0, map.select(Pxth.of("l.0")).getAsInt());
+    }
+
+    @Test
+    void testPatchMissingRejected()
+    {
+        final var map = JsonMap.create();
+        fill(map);
+
+        final var before = map.snapshot();
+
+        assertAll("json batch patch missing paths",
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.apply(JsonParser.parseString("[{\"op\":\"replace\",\"path\":\"/missing/deep\",\"value\":1}]").getAsJsonArray())),
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.apply(JsonParser.parseString("[{\"op\":\"replace\",\"path\":\"/stats/missing\",\"value\":1}]").getAsJsonArray())),
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.apply(JsonParser.parseString("[{\"op\":\"add\",\"path\":\"/missing/deep\",\"value\":1}]").getAsJsonArray())),
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.apply(JsonParser.parseString("[{\"op\":\"add\",\"path\":\"/stats/kills/deep\",\"value\":1}]").getAsJsonArray())),
+                  () -> assertThrows(IllegalArgumentException.class, () -> map.apply(JsonParser.parseString("[{\"op\":\"remove\",\"path\":\"/missing\"}]").getAsJsonArray())),
+                  () -> assertEquals(before.data(), map.data()));
+
+        // a parent added earlier in the same patch exists for the operations after it
+        map.apply(JsonParser.parseString("[{\"op\":\"add\",\"path\":\"/added\",\"value\":{}},{\"op\":\"add\",\"path\":\"/added/deep\",\"value\":1},{\"op\":\"replace\",\"path\":\"/added/deep\",\"value\":2}]").getAsJsonArray());
+        assertEquals(2, map.select(Pxth.of("added.deep")).getAsInt());
+    }
+
+}
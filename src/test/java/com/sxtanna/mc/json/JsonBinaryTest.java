@@ -0,0 +1,141 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonBinaryTest
+{
+
+    @Test
+    void testRoundTrip()
+    {
+        final var map = JsonMap.create();
+
+        map.insert(Pxth.of("name"), new JsonPrimitive("héllo ✓"));
+        map.insert(Pxth.of("flag"), new JsonPrimitive(true));
+        map.insert(Pxth.of("none"), JsonNull.INSTANCE);
+        map.insert(Pxth.of("numbers.int"), new JsonPrimitive(-42));
+        map.insert(Pxth.of("numbers.long"), new JsonPrimitive(Long.MIN_VALUE));
+        map.insert(Pxth.of("numbers.float"), new JsonPrimitive(1.1f));
+        map.insert(Pxth.of("numbers.double"), new JsonPrimitive(-0.1));
+        map.insert(Pxth.of("numbers.big"), new JsonPrimitive(new BigInteger("123456789012345678901234567890")));
+        map.insert(Pxth.of("numbers.precise"), new JsonPrimitive(new BigDecimal("0.1000000000000000000000001")));
+
+        final var array = new JsonArray();
+        array.add(1);
+        array.add(new JsonObject());
+        array.add(new JsonArray());
+        map.insert(Pxth.of("array"), array);
+
+        final var decoded = JsonBinary.decode(JsonBinary.encode(map));
+
+        assertEquals(map.data(), decoded.data());
+        assertEquals(text(map), text(decoded));
+    }
+
+    @Test
+    void testRoundTripParsed()
+    {
+        final var source = "{\"a\":1,\"b\":2.5,\"c\":12345678901234567890,\"d\":{\"a\":[-3,1e3]},\"e\":NaN}";
+
+        final var map = JsonMap.load(new StringReader(source));
+        assertNotNull(map);
+
+        assertEquals(map.data(), JsonBinary.decode(JsonBinary.encode(map)).data());
+    }
+
+    @Test
+    void testNegativeZero()
+    {
+        final var map = JsonMap.load(new StringReader("{\"a\":-0,\"b\":-0.0,\"c\":0}"));
+        assertNotNull(map);
+
+        final var decoded = JsonBinary.decode(JsonBinary.encode(map));
+
+        assertEquals(map.data(), decoded.data());
+        assertEquals("{\"a\":-0,\"b\":-0.0,\"c\":0}", text(decoded));
+    }
+
+    @Test
+    void testTruncated()
+    {
+        final var map = JsonMap.create();
+        map.insert(Pxth.of("name"), new JsonPrimitive("x".repeat(100)));
+        map.insert(Pxth.of("numbers"), new JsonPrimitive(new BigDecimal("0.1000000000000000000000001")));
+
+        final var buffer = JsonBinary.encode(map);
+
+        for (int cut = 1; cut < buffer.limit(); cut++)
+        {
+            final var truncated = buffer.duplicate().limit(buffer.limit() - cut);
+            assertThrows(IllegalArgumentException.class, () -> JsonBinary.decode(truncated), "truncated by " + cut);
+        }
+    }
+
+    @Test
+    void testSkip()
+    {
+        final var map = JsonMap.create();
+        map.insert(Pxth.of("skipped.deep.value"), new JsonPrimitive("x".repeat(1000)));
+        map.insert(Pxth.of("kept"), new JsonPrimitive(7));
+
+        final var buffer = JsonBinary.encode(map);
+        final var keys   = JsonBinary.header(buffer);
+
+        assertEquals(JsonBinary.OBJECT, buffer.get());
+        buffer.getInt();
+        assertEquals(2, JsonBinary.getVarint(buffer));
+
+        assertEquals("skipped", keys[JsonBinary.getVarint(buffer)]);
+        JsonBinary.skip(buffer);
+
+        assertEquals("kept", keys[JsonBinary.getVarint(buffer)]);
+        assertEquals(7, JsonBinary.read(buffer, keys).getAsInt());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void testSaveLoad(@TempDir final Path temp)
+    {
+        final var map = JsonMap.create();
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(300));
+
+        final var path = temp.resolve("map.bin");
+        JsonBinary.save(map, path);
+
+        final var loaded = JsonBinary.load(path);
+        assertNotNull(loaded);
+        assertEquals(300, loaded.select(Pxth.of("stats.kills")).getAsInt());
+
+        assertThrows(IllegalArgumentException.class, () -> JsonBinary.decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4})));
+        assertNull(JsonBinary.load(temp.resolve("missing.bin"), ex -> {}));
+    }
+
+
+    private static String text(final JsonMap map)
+    {
+        final var writer = new StringWriter();
+        map.save(writer);
+
+        return writer.toString();
+    }
+
+}
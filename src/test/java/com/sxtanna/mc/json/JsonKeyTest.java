@@ -0,0 +1,178 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonKeyTest
+{
+
+    @Test
+    void testAdapterCached()
+    {
+        final var key = JsonKey.of(Pxth.of("stats.kills"), Integer.class);
+
+        assertSame(key.adapter(JsonMap.GSON), key.adapter(JsonMap.GSON));
+    }
+
+    @Test
+    void testAdapterInvalidated()
+    {
+        final var key  = JsonKey.of(Pxth.of("stats.kills"), Integer.class);
+        final var gson = new GsonBuilder().registerTypeAdapter(Integer.class, new TypeAdapter<Integer>()
+        {
+            @Override
+            public void write(final JsonWriter out, final Integer value) throws IOException
+            {
+                out.value(value + 1);
+            }
+
+            @Override
+            public Integer read(final JsonReader in) throws IOException
+            {
+                return in.nextInt() - 1;
+            }
+        }).create();
+
+        final var adapterA = key.adapter(JsonMap.GSON);
+        final var adapterB = key.adapter(gson);
+
+        assertSame(gson.getAdapter(Integer.class), adapterB);
+        assertNotSame(adapterA, adapterB);
+        assertSame(adapterA, key.adapter(JsonMap.GSON));
+    }
+
+    @Test
+    void testAdapterRoundTrip()
+    {
+        final var map = JsonMap.create();
+        final var key = JsonKey.of(Pxth.of("names"), new TypeToken<List<String>>() {});
+
+        map.insert(key, List.of("hello", "world"));
+
+        assertIterableEquals(List.of("hello", "world"), map.select(key));
+        assertEquals(2, map.select(Pxth.of("names")).getAsJsonArray().size());
+    }
+
+    @Test
+    void testAdapterMatchesGson()
+    {
+        final var map   = JsonMap.create();
+        final var named = JsonKey.of(Pxth.of("named"), Named.class);
+        final var ratio = JsonKey.of(Pxth.of("ratio"), Double.class);
+
+        map.insert(named, new Named(), JsonMap.GSON);
+        map.insert(ratio, Double.NaN, JsonMap.GSON, ex -> { throw new AssertionError(ex); });
+
+        assertAll("json key adapter gson settings",
+                  () -> assertFalse(map.select(Pxth.of("named")).getAsJsonObject().has("name")),
+                  () -> assertEquals(map.select(Pxth.of("named")), JsonMap.GSON.toJsonTree(new Named())),
+                  () -> assertTrue(map.select(Pxth.of("named")).getAsJsonObject().has("size")),
+                  () -> assertTrue(Double.isNaN(map.select(Pxth.of("ratio")).getAsDouble())),
+                  () -> assertTrue(Double.isNaN(map.select(ratio, JsonMap.GSON, ex -> { throw new AssertionError(ex); }))),
+                  () -> assertTrue(Double.isNaN(ratio.bind(map).select(JsonMap.GSON, ex -> { throw new AssertionError(ex); }))));
+    }
+
+    @Test
+    void testPrimitiveKeys()
+    {
+        final var map   = JsonMap.create();
+        final var kills = JsonKey.ofInt(Pxth.of("stats.kills"));
+        final var time  = JsonKey.ofLong(Pxth.of("stats.time"), data -> new JsonPrimitive(Long.toString(data)), json -> Long.parseLong(json.getAsString()));
+        final var ratio = JsonKey.ofDouble(Pxth.of("stats.ratio"));
+
+        map.insertInt(kills, 5);
+        map.insertLong(time, 1L << 40);
+        map.insert(ratio, 0.5);
+
+        assertAll("json key primitive codecs",
+                  () -> assertEquals(5, map.selectInt(kills, -1)),
+                  () -> assertEquals(5, map.select(kills)),
+                  () -> assertEquals(Long.toString(1L << 40), map.select(Pxth.of("stats.time")).getAsString()),
+                  () -> assertEquals(1L << 40, map.selectLong(time, -1L)),
+                  () -> assertEquals(0.5, map.selectDouble(ratio, -1.0)),
+                  () -> assertEquals(-1, map.selectInt(JsonKey.ofInt(Pxth.of("stats.other")), -1)),
+                  () -> assertNull(map.select(JsonKey.ofInt(Pxth.of("stats.other")))),
+                  () -> assertEquals(-1, map.selectInt(JsonKey.ofInt(Pxth.of("stats")), -1, ex -> {})));
+    }
+
+    @Test
+    void testBound()
+    {
+        final var map    = JsonMap.create();
+        final var kills  = JsonKey.of(Pxth.of("stats.kills"), Integer.class).bind(map);
+        final var second = JsonKey.ofInt(Pxth.of("list.1.value")).bind(map);
+
+        assertNull(kills.select());
+
+        map.insertInt(Pxth.of("stats.kills"), 1);
+        assertEquals(1, kills.select());
+
+        // writing the value keeps the resolved container
+        final var version = map.version();
+        map.insertInt(Pxth.of("stats.kills"), 2);
+        assertEquals(version, map.version());
+        assertEquals(2, kills.select());
+
+        // replacing the container changes the version
+        final var stats = new JsonObject();
+        stats.addProperty("kills", 3);
+        map.insert(Pxth.of("stats"), stats);
+        assertEquals(3, kills.select());
+
+        final var list = new JsonArray();
+        for (int i = 0; i < 3; i++)
+        {
+            final var item = new JsonObject();
+            item.addProperty("value", i);
+            list.add(item);
+        }
+
+        map.insert(Pxth.of("list"), list);
+        assertEquals(1, second.select());
+
+        // removing from an array shifts the containers after it
+        map.remove(Pxth.of("list.0"));
+        assertEquals(2, second.select());
+
+        // once shared with a snapshot, containers are copied on the next write
+        final var snapshot = map.snapshot();
+        map.insertInt(Pxth.of("stats.kills"), 4);
+        assertAll("json handle after snapshot",
+                  () -> assertEquals(4, kills.select()),
+                  () -> assertEquals(3, JsonKey.of(Pxth.of("stats.kills"), Integer.class).bind(snapshot).select()));
+
+        map.remove(Pxth.of("stats"));
+        assertNull(kills.select());
+    }
+
+
+    private static final class Named
+    {
+
+        private String name;
+        private int    size = 1;
+
+    }
+
+}
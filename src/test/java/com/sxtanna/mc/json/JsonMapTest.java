@@ -3,20 +3,36 @@ package com.sxtanna.mc.json;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import com.sxtanna.mc.json.pxth.Pxth;
+
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JsonMapTest
 {
@@ -160,6 +176,276 @@ class JsonMapTest
     }
 
 
+    @Test
+    void testSelectIndexedInvalid()
+    {
+        final var map = new TestJsonMap().with("array", new TestJsonArr().with(new JsonPrimitive("hello")).json());
+
+        assertAll("invalid indices",
+                  () -> assertEquals(JsonNull.INSTANCE, assertDoesNotThrow(() -> map.select(List.of("array", "1")))),
+                  () -> assertEquals(JsonNull.INSTANCE, assertDoesNotThrow(() -> map.select(List.of("array", "-1")))),
+                  () -> assertEquals(JsonNull.INSTANCE, assertDoesNotThrow(() -> map.select(List.of("array", "name")))));
+    }
+
+
+    @Test
+    void testSnapshot()
+    {
+        final var map = JsonMap.create();
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("other.value"), new JsonPrimitive(1));
+
+        final var snapshot = map.snapshot();
+
+        // untouched containers are shared until either side modifies them
+        assertSame(map.select(Pxth.of("other")), snapshot.select(Pxth.of("other")));
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+        snapshot.insert(Pxth.of("other.value"), new JsonPrimitive(2));
+
+        assertAll("snapshot isolation",
+                  () -> assertEquals(2, map.select(Pxth.of("stats.kills")).getAsInt()),
+                  () -> assertEquals(1, snapshot.select(Pxth.of("stats.kills")).getAsInt()),
+                  () -> assertEquals(1, map.select(Pxth.of("other.value")).getAsInt()),
+                  () -> assertEquals(2, snapshot.select(Pxth.of("other.value")).getAsInt()));
+
+        map.restore(snapshot);
+
+        assertEquals(1, map.select(Pxth.of("stats.kills")).getAsInt());
+        assertEquals(2, map.select(Pxth.of("other.value")).getAsInt());
+
+        map.insert(Pxth.of("other.value"), new JsonPrimitive(3));
+        assertEquals(2, snapshot.select(Pxth.of("other.value")).getAsInt());
+    }
+
+    @Test
+    void testSnapshotDefault()
+    {
+        final var map = new TestJsonMap().with("stats", new TestJsonObj().with("kills", new JsonPrimitive(1)).json());
+
+        final var snapshot = map.snapshot();
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+
+        assertEquals(1, snapshot.select(Pxth.of("stats.kills")).getAsInt());
+
+        map.restore(snapshot);
+        assertEquals(1, map.select(Pxth.of("stats.kills")).getAsInt());
+    }
+
+    @Test
+    void testSelectAll()
+    {
+        final var selects = new AtomicInteger();
+        final var backing = JsonMap.create();
+
+        final var map = new JsonMap()
+        {
+            @Override
+            public @NotNull Map<String, JsonElement> data()
+            {
+                return backing.data();
+            }
+
+            @Override
+            public @NotNull JsonElement select(@NotNull final Pxth pxth)
+            {
+                selects.incrementAndGet();
+                return JsonMap.super.select(pxth);
+            }
+        };
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(2));
+        map.insert(Pxth.of("stats.time.played"), new JsonPrimitive(3L));
+        map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+        map.insert(Pxth.of("array"), new TestJsonArr().with(new JsonPrimitive("a")).with(new JsonPrimitive("b")).json());
+
+        final var kills   = JsonKey.of(Pxth.of("stats.kills"), Integer.class);
+        final var deaths  = JsonKey.of(Pxth.of("stats.deaths"), Integer.class);
+        final var played  = JsonKey.of(Pxth.of("stats.time.played"), Long.class);
+        final var missing = JsonKey.of(Pxth.of("stats.time.missing"), Long.class);
+        final var name    = JsonKey.of(Pxth.of("name"), String.class);
+        final var second  = JsonKey.of(Pxth.of("array.1"), String.class);
+        final var invalid = JsonKey.of(Pxth.of("name"), Integer.class);
+
+        final var errors    = new AtomicInteger();
+        final var selection = map.selectAll(List.of(name, kills, second, played, deaths, missing, invalid), ex -> errors.incrementAndGet());
+
+        assertAll("json map select all",
+                  () -> assertEquals(7, selection.size()),
+                  () -> assertEquals(1, selection.get(kills)),
+                  () -> assertEquals(2, selection.get(deaths)),
+                  () -> assertEquals(3L, selection.get(played)),
+                  () -> assertNull(selection.get(missing)),
+                  () -> assertEquals("hello", selection.get(name)),
+                  () -> assertEquals("b", selection.get(second)),
+                  () -> assertNull(selection.get(invalid)),
+                  () -> assertEquals(1, errors.get()),
+                  // one lookup per distinct top level key
+                  () -> assertEquals(3, selects.get()));
+    }
+
+    @Test
+    void testPrimitives()
+    {
+        final var map = JsonMap.create();
+
+        map.insertInt(Pxth.of("stats.kills"), 10);
+        map.insertLong(List.of("stats", "time"), 20L);
+        map.insertDouble(Pxth.of("stats.ratio"), 0.5);
+        map.insertBoolean(Pxth.of("stats.online"), true);
+        map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+
+        assertAll("json map primitives",
+                  () -> assertEquals(10, map.selectInt(Pxth.of("stats.kills"), -1)),
+                  () -> assertEquals(20L, map.selectLong(Pxth.of("stats.time"), -1L)),
+                  () -> assertEquals(0.5, map.selectDouble(List.of("stats", "ratio"), -1.0)),
+                  () -> assertTrue(map.selectBoolean(Pxth.of("stats.online"), false)),
+                  () -> assertEquals(-1, map.selectInt(Pxth.of("stats.missing"), -1)),
+                  () -> assertEquals(-1, map.selectInt(Pxth.of("name"), -1)),
+                  () -> assertFalse(map.selectBoolean(Pxth.of("stats.kills"), false)),
+                  () -> assertEquals(15L, map.increment(Pxth.of("stats.kills"), 5)),
+                  () -> assertEquals(-3L, map.increment(Pxth.of("stats.created"), -3)),
+                  () -> assertEquals(-3, map.selectInt(Pxth.of("stats.created"), 0)));
+    }
+
+    @Test
+    void testDirty()
+    {
+        final var map = JsonMap.create();
+        assertFalse(map.isDirty());
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(1));
+        map.insert(List.of("name"), new JsonPrimitive("hello"));
+
+        assertEquals(Set.of(Pxth.of("stats.kills"), Pxth.of("stats.deaths"), Pxth.of("name")), map.dirtyPaths());
+
+        map.remove(Pxth.of("stats"));
+        assertEquals(Set.of(Pxth.of("stats"), Pxth.of("name")), map.dirtyPaths());
+
+        map.clearDirty();
+        assertFalse(map.isDirty());
+
+        map.restore(map.snapshot());
+        assertEquals(Set.of(Pxth.NONE), map.dirtyPaths());
+
+        // maps that do not track modifications report everything as modified
+        assertEquals(Set.of(Pxth.NONE), new TestJsonMap().dirtyPaths());
+    }
+
+    @Test
+    void testDirtyOnlyOnChange()
+    {
+        final var lazy = LazyJsonMap.load(new StringReader("{\"name\":\"hello\",\"none\":null,\"list\":[1]}"));
+        assertNotNull(lazy);
+
+        for (final var map : List.of(JsonMap.create(), lazy))
+        {
+            map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+            map.insert(Pxth.of("none"), JsonNull.INSTANCE);
+            map.insert(Pxth.of("list"), new JsonArray());
+            map.clearDirty();
+
+            map.remove(Pxth.of("missing"));
+            map.remove(Pxth.of("name.deep"));
+            map.insert(Pxth.of("name.deep"), new JsonPrimitive(1));
+            map.insert(Pxth.of("list.3"), new JsonPrimitive(1));
+            map.insert(Pxth.NONE, new JsonObject());
+            map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+
+            assertFalse(map.isDirty(), map.getClass().getSimpleName());
+
+            map.remove(Pxth.of("none"));
+            map.insert(Pxth.of("list.0"), new JsonPrimitive(2));
+            map.insert(Pxth.of("created"), JsonNull.INSTANCE);
+
+            assertEquals(Set.of(Pxth.of("none"), Pxth.of("created")), map.dirtyPaths(), map.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testLoad()
+    {
+        final var text = "{\"name\":\"hello\",\"stats\":{\"kills\":1,\"deaths\":2},\"array\":[{\"kills\":3,\"deaths\":4}]}";
+
+        final var map = JsonMap.load(new StringReader(text));
+        assertNotNull(map);
+
+        assertAll("json map load",
+                  () -> assertEquals("hello", map.select(Pxth.of("name")).getAsString()),
+                  () -> assertEquals(2, map.select(Pxth.of("stats.deaths")).getAsInt()),
+                  () -> assertEquals(3, map.select(Pxth.of("array.0.kills")).getAsInt()));
+
+        final var filtered = JsonMap.load(new StringReader(text), pxth -> !pxth.path().get(pxth.size() - 1).equals("deaths"));
+        assertNotNull(filtered);
+
+        assertAll("json map load filtered",
+                  () -> assertEquals(1, filtered.select(Pxth.of("stats.kills")).getAsInt()),
+                  () -> assertTrue(filtered.select(Pxth.of("stats.deaths")).isJsonNull()),
+                  () -> assertEquals(3, filtered.select(Pxth.of("array.0.kills")).getAsInt()),
+                  () -> assertTrue(filtered.select(Pxth.of("array.0.deaths")).isJsonNull()));
+
+        final var failure = new AtomicReference<Throwable>();
+        assertNull(JsonMap.load(new StringReader("[1, 2]"), null, failure::set));
+        assertNotNull(failure.get());
+    }
+
+    @Test
+    void testSave(@TempDir final Path temp)
+    {
+        final var map = JsonMap.create();
+        map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("array"), new TestJsonArr().with(new JsonPrimitive(2)).json());
+
+        final var writer = new StringWriter();
+        assertTrue(map.save(writer));
+        assertEquals("{\"name\":\"hello\",\"stats\":{\"kills\":1},\"array\":[2]}", writer.toString());
+
+        final var path = temp.resolve("data").resolve("map.json");
+        assertTrue(map.save(path));
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+        assertTrue(map.save(path));
+
+        final var loaded = JsonMap.load(path);
+        assertNotNull(loaded);
+
+        assertAll("json map save",
+                  () -> assertEquals(map.data(), loaded.data()),
+                  () -> assertEquals(2, loaded.select(Pxth.of("stats.kills")).getAsInt()));
+
+        // the temporary file is moved over the target, nothing is left behind
+        try (final var files = assertDoesNotThrow(() -> Files.list(path.getParent())))
+        {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testSaveSpecialFloats()
+    {
+        final var map = JsonMap.create();
+        map.insert(Pxth.of("x"), new JsonPrimitive(Double.NaN));
+        map.insert(Pxth.of("y"), new JsonPrimitive(Double.POSITIVE_INFINITY));
+
+        final var writer = new StringWriter();
+        assertTrue(map.save(writer, JsonMap.GSON, JsonMap.IGNORED_EXCEPTION));
+        assertEquals(JsonMap.GSON.toJson(map.data()), writer.toString());
+
+        final var lazy = LazyJsonMap.load(new StringReader(writer.toString()));
+        assertNotNull(lazy);
+
+        lazy.insert(Pxth.of("z"), new JsonPrimitive(Double.NEGATIVE_INFINITY));
+
+        final var lazyWriter = new StringWriter();
+        assertTrue(lazy.save(lazyWriter, JsonMap.GSON, JsonMap.IGNORED_EXCEPTION));
+        assertEquals("{\"x\":NaN,\"y\":Infinity,\"z\":-Infinity}", lazyWriter.toString());
+    }
+
+
     @Test
     void testRemove()
     {
@@ -0,0 +1,215 @@
+package com.sxtanna.mc.json;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonMapWriteBehindTest
+{
+
+    private record SavingJsonMap(@NotNull Map<String, JsonElement> data, @NotNull Runnable onSave) implements JsonMap
+    {
+
+        SavingJsonMap(@NotNull final Runnable onSave)
+        {
+            this(new LinkedHashMap<>(), onSave);
+        }
+
+
+        @Override
+        public @NotNull JsonMap snapshot()
+        {
+            return this;
+        }
+
+        @Override
+        public boolean save(@NotNull final Writer writer, @NotNull final Gson gson, @NotNull final Consumer<Throwable> exceptionHandler)
+        {
+            this.onSave.run();
+            return JsonMap.super.save(writer, gson, exceptionHandler);
+        }
+
+    }
+
+
+    @Test
+    void testCoalesce(@TempDir final Path temp)
+    {
+        final var tasks = new ArrayDeque<Runnable>();
+        final var path  = temp.resolve("map.json");
+
+        try (final var writer = JsonMapWriteBehind.create((Executor) tasks::add, JsonMap.PRINT_STACK_TRACE))
+        {
+            final var map = JsonMap.create();
+
+            map.insert(Pxth.of("count"), new JsonPrimitive(1));
+            final var first = writer.save(map, path);
+
+            map.insert(Pxth.of("count"), new JsonPrimitive(2));
+            final var second = writer.save(map, path);
+
+            // nothing has run yet, so the second save replaces the data of the first
+            assertSame(first, second);
+            assertEquals(1, tasks.size());
+            assertFalse(map.isDirty());
+
+            // modifications after the capture are not visible to the queued save
+            map.insert(Pxth.of("other"), new JsonPrimitive(3));
+            map.clearDirty();
+
+            tasks.poll().run();
+
+            assertTrue(first.join());
+            assertTrue(tasks.isEmpty());
+
+            final var loaded = JsonMap.load(path);
+            assertNotNull(loaded);
+
+            assertEquals(2, loaded.select(Pxth.of("count")).getAsInt());
+            assertTrue(loaded.select(Pxth.of("other")).isJsonNull());
+
+            // clean maps are not saved again
+            assertTrue(writer.save(map, path).join());
+            assertTrue(tasks.isEmpty());
+        }
+    }
+
+    @Test
+    void testConcurrentCaptured(@TempDir final Path temp)
+    {
+        final var tasks = new ArrayDeque<Runnable>();
+        final var path  = temp.resolve("map.json");
+
+        try (final var writer = JsonMapWriteBehind.create((Executor) tasks::add, JsonMap.PRINT_STACK_TRACE))
+        {
+            final var map = ConcurrentJsonMap.create();
+
+            map.insert(Pxth.of("count"), new JsonPrimitive(1));
+            final var saved = writer.save(map, path);
+
+            // a concurrent map is copied like any other, so its locks are not held while it is written
+            map.insert(Pxth.of("count"), new JsonPrimitive(2));
+
+            tasks.poll().run();
+
+            assertTrue(saved.join());
+            assertEquals(1, JsonMap.load(path).select(Pxth.of("count")).getAsInt());
+            assertTrue(map.isDirty());
+        }
+    }
+
+    @Test
+    void testQueuedBehindRunning(@TempDir final Path temp)
+    {
+        final var tasks  = new ArrayDeque<Runnable>();
+        final var path   = temp.resolve("map.json");
+        final var writer = JsonMapWriteBehind.create((Executor) tasks::add, JsonMap.PRINT_STACK_TRACE);
+
+        final var later = JsonMap.create();
+        later.insert(Pxth.of("count"), new JsonPrimitive(2));
+
+        final var queued = new ArrayList<CompletableFuture<Boolean>>();
+
+        // requests another save of the same path while it is being saved
+        final var first = writer.save(new SavingJsonMap(() -> queued.add(writer.save(later, path))), path);
+
+        tasks.poll().run();
+
+        assertTrue(first.join());
+        assertEquals(1, queued.size());
+        assertFalse(queued.get(0).isDone());
+
+        // the second save is only submitted once the first has finished
+        assertEquals(1, tasks.size());
+        tasks.poll().run();
+
+        assertTrue(queued.get(0).join());
+        assertEquals(2, JsonMap.load(path).select(Pxth.of("count")).getAsInt());
+    }
+
+    @Test
+    void testFlushAll(@TempDir final Path temp) throws Exception
+    {
+        final var writer = JsonMapWriteBehind.create(2);
+
+        for (int i = 0; i < 32; i++)
+        {
+            final var map = JsonMap.create();
+            map.insert(Pxth.of("index"), new JsonPrimitive(i));
+
+            writer.save(map, temp.resolve(i + ".json"));
+        }
+
+        writer.flushAll().get(30, TimeUnit.SECONDS);
+        writer.close();
+
+        for (int i = 0; i < 32; i++)
+        {
+            final var loaded = JsonMap.load(temp.resolve(i + ".json"));
+
+            assertNotNull(loaded);
+            assertEquals(i, loaded.select(Pxth.of("index")).getAsInt());
+        }
+
+        assertTrue(writer.save(JsonMap.create(), temp.resolve("closed.json")).isCompletedExceptionally());
+    }
+
+    @Test
+    void testFailedSaveRetried(@TempDir final Path temp) throws Exception
+    {
+        final var tasks = new ArrayDeque<Runnable>();
+        final var path  = temp.resolve("map.json");
+
+        try (final var writer = JsonMapWriteBehind.create((Executor) tasks::add, JsonMap.IGNORED_EXCEPTION))
+        {
+            final var map = JsonMap.create();
+            map.insert(Pxth.of("count"), new JsonPrimitive(1));
+
+            // a non empty directory in the way makes the first write fail
+            Files.createDirectories(path.resolve("blocked"));
+
+            final var failed = writer.save(map, path);
+            tasks.poll().run();
+
+            assertFalse(failed.join());
+            assertEquals(Set.of(Pxth.of("count")), map.dirtyPaths());
+
+            Files.delete(path.resolve("blocked"));
+            Files.delete(path);
+
+            final var retried = writer.save(map, path);
+            assertEquals(1, tasks.size());
+            tasks.poll().run();
+
+            assertTrue(retried.join());
+            assertFalse(map.isDirty());
+            assertEquals(1, JsonMap.load(path).select(Pxth.of("count")).getAsInt());
+        }
+    }
+
+}
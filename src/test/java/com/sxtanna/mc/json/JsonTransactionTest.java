@@ -0,0 +1,179 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTransactionTest
+{
+
+    private static final int THREADS    = 8;
+    private static final int ITERATIONS = 1_000;
+
+
+    private static List<JsonMap> maps()
+    {
+        return List.of(JsonMap.create(), ConcurrentJsonMap.create(4), PersistentJsonMap.create(), CachingJsonMap.of(JsonMap.create()));
+    }
+
+    private static void fill(final JsonMap map)
+    {
+        final var list = new JsonArray();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        map.insert(Pxth.of("wallet.coins"), new JsonPrimitive(10));
+        map.insert(Pxth.of("bank.coins"), new JsonPrimitive(0));
+        map.insert(Pxth.of("list"), list);
+    }
+
+
+    @Test
+    void testCommit()
+    {
+        for (final var map : maps())
+        {
+            fill(map);
+
+            final var committed = map.transaction(tx ->
+            {
+                final var coins = tx.select(Pxth.of("wallet.coins")).getAsInt();
+
+                tx.insert(Pxth.of("wallet.coins"), new JsonPrimitive(coins - 4));
+                tx.insert(Pxth.of("bank.coins"), new JsonPrimitive(tx.select(Pxth.of("bank.coins")).getAsInt() + 4));
+
+                // reads see earlier writes of the same transaction
+                assertEquals(6, tx.select(Pxth.of("wallet.coins")).getAsInt());
+                assertEquals("a", tx.remove(Pxth.of("list.0")).getAsString());
+            });
+
+            assertAll("json transaction commit " + map.getClass().getSimpleName(),
+                      () -> assertTrue(committed),
+                      () -> assertEquals(6, map.select(Pxth.of("wallet.coins")).getAsInt()),
+                      () -> assertEquals(4, map.select(Pxth.of("bank.coins")).getAsInt()),
+                      () -> assertEquals(2, map.select(Pxth.of("list")).getAsJsonArray().size()));
+        }
+    }
+
+    @Test
+    void testRollback()
+    {
+        for (final var map : maps())
+        {
+            fill(map);
+
+            final var before = new HashMap<>(map.snapshot().data());
+
+            final var committed = map.transaction(tx ->
+            {
+                tx.insert(Pxth.of("wallet.coins"), new JsonPrimitive(0));
+                tx.insert(Pxth.of("created.deep.value"), new JsonPrimitive(1));
+                tx.remove(Pxth.of("list.1"));
+                tx.remove(Pxth.of("bank"));
+                tx.rollback();
+            });
+
+            assertFalse(committed);
+            assertEquals(before, new HashMap<>(map.data()), map.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testRollbackOnThrow()
+    {
+        for (final var map : maps())
+        {
+            fill(map);
+
+            final var before = new HashMap<>(map.snapshot().data());
+
+            assertThrows(IllegalStateException.class, () -> map.transaction(tx ->
+            {
+                tx.insert(Pxth.of("wallet.coins"), new JsonPrimitive(0));
+                throw new IllegalStateException("failed");
+            }));
+
+            assertEquals(before, new HashMap<>(map.data()), map.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testConcurrentTransfers() throws Exception
+    {
+        for (final var map : List.of(ConcurrentJsonMap.create(4), PersistentJsonMap.create()))
+        {
+            map.insert(Pxth.of("a.coins"), new JsonPrimitive(THREADS * ITERATIONS));
+            map.insert(Pxth.of("b.coins"), new JsonPrimitive(0));
+
+            final var pool  = Executors.newFixedThreadPool(THREADS);
+            final var start = new CountDownLatch(1);
+
+            try
+            {
+                final var tasks = new ArrayList<Future<?>>();
+
+                for (int t = 0; t < THREADS; t++)
+                {
+                    final var thread = t;
+
+                    tasks.add(pool.submit(() ->
+                    {
+                        start.await();
+
+                        for (int i = 0; i < ITERATIONS; i++)
+                        {
+                            map.transaction(tx ->
+                            {
+                                final var a = tx.select(Pxth.of("a.coins")).getAsInt();
+                                final var b = tx.select(Pxth.of("b.coins")).getAsInt();
+
+                                // the sum is only ever seen whole
+                                assertEquals(THREADS * ITERATIONS, a + b);
+
+                                tx.insert(Pxth.of("a.coins"), new JsonPrimitive(a - 1));
+                                tx.insert(Pxth.of("b.coins"), new JsonPrimitive(b + 1));
+                            });
+
+                            // unrelated writes to other keys
+                            map.insert(Pxth.of("thread" + thread), new JsonPrimitive(i));
+                        }
+
+                        return null;
+                    }));
+                }
+
+                start.countDown();
+
+                for (final var task : tasks)
+                {
+                    task.get(30, TimeUnit.SECONDS);
+                }
+            }
+            finally
+            {
+                pool.shutdownNow();
+            }
+
+            assertEquals(0, map.select(Pxth.of("a.coins")).getAsInt(), map.getClass().getSimpleName());
+            assertEquals(THREADS * ITERATIONS, map.select(Pxth.of("b.coins")).getAsInt(), map.getClass().getSimpleName());
+        }
+    }
+
+}
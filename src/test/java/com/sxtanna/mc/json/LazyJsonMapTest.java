@@ -0,0 +1,97 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyJsonMapTest
+{
+
+    private static final String TEXT = "{ \"name\" : \"he said \\\"hi\\\" {\", \"stats\": {\"kills\": 1, \"deaths\": [2, {\"x\": \"]\"}]},\n" +
+                                       "  \"history\":   [ 1,2,  3 ], \"flag\": true, \"esc\\u0061ped\": null }";
+
+
+    @Test
+    void testLazySelect()
+    {
+        final var map = LazyJsonMap.load(new StringReader(TEXT));
+        assertNotNull(map);
+
+        assertEquals(5, map.unparsed());
+
+        assertAll("lazy json map select",
+                  () -> assertEquals(1, map.select(Pxth.of("stats.kills")).getAsInt()),
+                  () -> assertEquals("]", map.select(Pxth.of("stats.deaths.1.x")).getAsString()),
+                  () -> assertEquals("he said \"hi\" {", map.select(Pxth.of("name")).getAsString()),
+                  () -> assertTrue(map.data().containsKey("escaped")),
+                  () -> assertEquals(3, map.unparsed()));
+
+        assertEquals(JsonMap.load(new StringReader(TEXT)).data(), map.data());
+        assertEquals(0, map.unparsed());
+    }
+
+    @Test
+    void testSaveVerbatim()
+    {
+        final var map = LazyJsonMap.load(new StringReader(TEXT));
+        assertNotNull(map);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(5));
+
+        final var writer = new StringWriter();
+        assertTrue(map.save(writer));
+
+        // the untouched history keeps its original spacing, the modified stats are serialized again
+        final var text = writer.toString();
+
+        assertAll("lazy json map save",
+                  () -> assertTrue(text.contains("\"history\":[ 1,2,  3 ]")),
+                  () -> assertTrue(text.contains("\"kills\":5")),
+                  () -> assertEquals(4, map.unparsed()));
+
+        final var loaded = JsonMap.load(new StringReader(text));
+        assertNotNull(loaded);
+        assertEquals(loaded.data(), map.data());
+    }
+
+    @Test
+    void testSnapshotAndDirty()
+    {
+        final var map = LazyJsonMap.load(new StringReader(TEXT));
+        assertNotNull(map);
+
+        map.select(Pxth.of("stats"));
+
+        final var snapshot = map.snapshot();
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+
+        assertEquals(1, snapshot.select(Pxth.of("stats.kills")).getAsInt());
+        assertEquals(4, snapshot.unparsed());
+        assertTrue(map.dirtyPaths().contains(Pxth.of("stats.kills")));
+    }
+
+    @Test
+    void testMalformed()
+    {
+        assertNull(LazyJsonMap.load("[1, 2]", ex -> {}));
+        assertNull(LazyJsonMap.load("{\"a\": [1, 2}", ex -> {}));
+        assertNull(LazyJsonMap.load("{\"a\": 1", ex -> {}));
+
+        // values are only validated once parsed
+        final var map = LazyJsonMap.load("{\"a\": [1 2]}", ex -> {});
+        assertNotNull(map);
+        assertThrows(RuntimeException.class, () -> map.select(Pxth.of("a")));
+    }
+
+}
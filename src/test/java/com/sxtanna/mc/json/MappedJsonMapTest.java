@@ -0,0 +1,76 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedJsonMapTest
+{
+
+    @Test
+    void testSelect(@TempDir final Path temp)
+    {
+        final var map = JsonMap.create();
+
+        map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(2));
+
+        final var array = new JsonArray();
+        array.add(10);
+        array.add(20);
+        map.insert(Pxth.of("array"), array);
+        map.insert(Pxth.of("array.1.nested"), new JsonPrimitive(3));
+
+        for (int i = 0; i < 100; i++)
+        {
+            map.insert(Pxth.of("filler", "key" + i), new JsonPrimitive(i));
+        }
+
+        final var path = temp.resolve("map.bin");
+        assertTrue(JsonBinary.save(map, path));
+
+        final var mapped = MappedJsonMap.open(path);
+        assertNotNull(mapped);
+
+        assertAll("mapped json map select",
+                  () -> assertEquals("hello", mapped.select(Pxth.of("name")).getAsString()),
+                  () -> assertEquals(2, mapped.select(Pxth.of("stats.deaths")).getAsInt()),
+                  () -> assertEquals(10, mapped.select(Pxth.of("array.0")).getAsInt()),
+                  () -> assertEquals(20, mapped.select(Pxth.of("array.1")).getAsInt()),
+                  () -> assertEquals(99, mapped.select(Pxth.of("filler.key99")).getAsInt()),
+                  () -> assertEquals(map.select(Pxth.of("stats")), mapped.select(Pxth.of("stats"))),
+                  () -> assertEquals(Integer.valueOf(1), mapped.select(List.of("stats", "kills"), Integer.class)),
+                  () -> assertTrue(mapped.select(Pxth.of("array.2")).isJsonNull()),
+                  () -> assertTrue(mapped.select(Pxth.of("stats.missing")).isJsonNull()),
+                  () -> assertTrue(mapped.select(Pxth.of("unknown")).isJsonNull()));
+
+        assertEquals(map.data(), mapped.data());
+        assertEquals(map.data(), mapped.snapshot().data());
+        assertFalse(mapped.isDirty());
+
+        assertThrows(UnsupportedOperationException.class, () -> mapped.insert(Pxth.of("name"), new JsonPrimitive("other")));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.remove(Pxth.of("name")));
+
+        // selected elements are copies
+        mapped.select(Pxth.of("stats")).getAsJsonObject().addProperty("kills", 5);
+        assertEquals(1, mapped.select(Pxth.of("stats.kills")).getAsInt());
+
+        assertNull(MappedJsonMap.open(temp.resolve("missing.bin"), ex -> {}));
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObservableJsonMapTest
+{
+
+    @Test
+    void testDispatch()
+    {
+        final var map = ObservableJsonMap.of(JsonMap.create());
+
+        final var stats  = new ArrayList<JsonChange>();
+        final var kills  = new ArrayList<JsonChange>();
+        final var others = new ArrayList<JsonChange>();
+
+        map.listen(Pxth.of("stats"), stats::addAll);
+        map.listen(Pxth.of("stats.kills"), kills::addAll);
+        map.listen(Pxth.of("other"), others::addAll);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.remove(Pxth.of("stats"));
+
+        assertAll("observable json map dispatch",
+                  () -> assertEquals(List.of(new JsonChange(Pxth.of("stats.kills"), JsonNull.INSTANCE, new JsonPrimitive(1))), kills.subList(0, 1)),
+                  // removing an ancestor is seen at the subscribed path
+                  () -> assertEquals(new JsonChange(Pxth.of("stats.kills"), new JsonPrimitive(1), JsonNull.INSTANCE), kills.get(1)),
+                  () -> assertEquals(2, kills.size()),
+                  // the repeated insert changes nothing, so it is not delivered
+                  () -> assertEquals(3, stats.size()),
+                  () -> assertTrue(stats.get(2).isRemove()),
+                  () -> assertTrue(others.isEmpty()));
+    }
+
+    @Test
+    void testBatchDeliveredTogether()
+    {
+        final var map        = ObservableJsonMap.of(JsonMap.create());
+        final var deliveries = new ArrayList<List<JsonChange>>();
+
+        map.listen(Pxth.NONE, deliveries::add);
+
+        map.batch()
+           .insert(Pxth.of("stats.kills"), new JsonPrimitive(1))
+           .insert(Pxth.of("stats.deaths"), new JsonPrimitive(2))
+           .insert(Pxth.of("name"), new JsonPrimitive("hello"))
+           .apply();
+
+        assertEquals(1, deliveries.size());
+        assertEquals(3, deliveries.get(0).size());
+    }
+
+    @Test
+    void testAsyncCoalesced()
+    {
+        final var tasks = new ArrayList<Runnable>();
+        final var map   = ObservableJsonMap.of(JsonMap.create(), tasks::add);
+
+        final var deliveries = new ArrayList<List<JsonChange>>();
+        final var closed     = new ArrayList<JsonChange>();
+
+        map.listen(Pxth.of("stats"), deliveries::add);
+        final var subscription = map.listen(Pxth.of("stats"), closed::addAll);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(3));
+
+        subscription.close();
+
+        assertEquals(1, tasks.size());
+        assertTrue(deliveries.isEmpty());
+
+        tasks.remove(0).run();
+
+        assertEquals(1, deliveries.size());
+        assertEquals(3, deliveries.get(0).size());
+        assertTrue(closed.isEmpty());
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(4));
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void testKeyListener()
+    {
+        final var map  = ObservableJsonMap.of(JsonMap.create());
+        final var last = new AtomicReference<Integer>();
+
+        map.listen(JsonKey.of(Pxth.of("stats.kills"), Integer.class), last::set);
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(5));
+        assertEquals(5, last.get());
+
+        final var stats = new JsonObject();
+        stats.addProperty("kills", 7);
+
+        map.insert(Pxth.of("stats"), stats);
+        assertEquals(7, last.get());
+    }
+
+    @Test
+    void testRootSeesUnknownWrites()
+    {
+        final var map        = ObservableJsonMap.of(JsonMap.create());
+        final var deliveries = new ArrayList<List<JsonChange>>();
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.listen(Pxth.NONE, deliveries::add);
+
+        final var other = JsonMap.create();
+        other.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+        other.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+
+        map.restore(other);
+
+        assertEquals(1, deliveries.size());
+        assertEquals(List.of(new JsonChange(Pxth.of("stats.kills"), new JsonPrimitive(1), new JsonPrimitive(2)),
+                             new JsonChange(Pxth.of("name"), JsonNull.INSTANCE, new JsonPrimitive("hello"))), deliveries.get(0));
+
+        map.transaction(transaction -> transaction.remove(Pxth.of("name")));
+
+        assertEquals(2, deliveries.size());
+        assertEquals(List.of(new JsonChange(Pxth.of("name"), new JsonPrimitive("hello"), JsonNull.INSTANCE)), deliveries.get(1));
+
+        // a transaction that changes nothing is not delivered
+        map.transaction(transaction -> transaction.insert(Pxth.of("stats.kills"), new JsonPrimitive(2)));
+        assertEquals(2, deliveries.size());
+    }
+
+    @Test
+    void testAsyncChangesDetached()
+    {
+        final var tasks   = new ArrayList<Runnable>();
+        final var map     = ObservableJsonMap.of(JsonMap.create(), tasks::add);
+        final var changes = new ArrayList<JsonChange>();
+
+        map.listen(Pxth.of("stats"), changes::addAll);
+
+        map.insert(Pxth.of("stats"), new JsonObject());
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+
+        tasks.remove(0).run();
+
+        assertAll("observable json map async changes",
+                  () -> assertEquals(2, changes.size()),
+                  // the first change still holds the empty object it inserted, not the object after the second write
+                  () -> assertEquals(new JsonObject(), changes.get(0).next()),
+                  () -> assertEquals(new JsonChange(Pxth.of("stats.kills"), JsonNull.INSTANCE, new JsonPrimitive(1)), changes.get(1)));
+    }
+
+}
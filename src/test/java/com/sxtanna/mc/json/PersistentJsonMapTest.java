@@ -0,0 +1,174 @@
+package com.sxtanna.mc.json;
+
+import com.sxtanna.mc.json.pxth.Pxth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentJsonMapTest
+{
+
+    @Test
+    void testInsertSelectRemove()
+    {
+        final var map = PersistentJsonMap.create();
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("stats.deaths"), new JsonPrimitive(2));
+        map.insert(Pxth.of("array"), new JsonArray());
+        map.insert(Pxth.of("name"), new JsonPrimitive("hello"));
+
+        assertAll("persistent json map",
+                  () -> assertEquals(1, map.select(Pxth.of("stats.kills")).getAsInt()),
+                  () -> assertEquals(2, map.select(Pxth.of("stats.deaths")).getAsInt()),
+                  () -> assertEquals("hello", map.select(Pxth.of("name")).getAsString()),
+                  () -> assertTrue(map.insert(Pxth.of("array.0"), new JsonPrimitive(1)).isJsonNull()),
+                  () -> assertTrue(map.insert(Pxth.of("name.first"), new JsonPrimitive(1)).isJsonNull()),
+                  () -> assertEquals("hello", map.select(Pxth.of("name")).getAsString()),
+                  () -> assertEquals(1, map.remove(Pxth.of("stats.kills")).getAsInt()),
+                  () -> assertTrue(map.select(Pxth.of("stats.kills")).isJsonNull()),
+                  () -> assertEquals(3, map.data().size()));
+    }
+
+    @Test
+    void testSnapshotIsolation()
+    {
+        final var map = PersistentJsonMap.create();
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(1));
+        map.insert(Pxth.of("other.value"), new JsonPrimitive(1));
+
+        final var snapshot = map.snapshot();
+        final var other    = map.select(Pxth.of("other"));
+
+        map.insert(Pxth.of("stats.kills"), new JsonPrimitive(2));
+        snapshot.remove(Pxth.of("other"));
+
+        assertEquals(1, snapshot.select(Pxth.of("stats.kills")).getAsInt());
+        assertEquals(2, map.select(Pxth.of("stats.kills")).getAsInt());
+
+        // untouched subtrees are shared, modified ones are copied
+        assertSame(other, map.select(Pxth.of("other")));
+        assertNotSame(snapshot.select(Pxth.of("stats")), map.select(Pxth.of("stats")));
+        assertTrue(snapshot.select(Pxth.of("other")).isJsonNull());
+    }
+
+    @Test
+    void testTrieManyKeys()
+    {
+        final var map    = PersistentJsonMap.create();
+        final var expect = new HashMap<String, Integer>();
+
+        // "Aa" and "BB" share a hash code, so these also exercise full collisions
+        final var keys = new ArrayList<>(List.of("AaAa", "AaBB", "BBAa", "BBBB"));
+        for (int i = 0; i < 5_000; i++)
+        {
+            keys.add("key" + i);
+        }
+
+        for (int i = 0; i < keys.size(); i++)
+        {
+            map.insert(Pxth.of(keys.get(i)), new JsonPrimitive(i));
+            expect.put(keys.get(i), i);
+        }
+
+        for (int i = 0; i < keys.size(); i += 3)
+        {
+            map.remove(Pxth.of(keys.get(i)));
+            expect.remove(keys.get(i));
+        }
+
+        assertEquals(expect.size(), map.data().size());
+
+        final var found = new HashMap<String, Integer>();
+        map.data().forEach((key, json) -> found.put(key, json.getAsInt()));
+
+        assertEquals(expect, found);
+        expect.forEach((key, value) -> assertEquals(value, map.select(Pxth.of(key)).getAsInt()));
+    }
+
+    @Test
+    void testDataEqualsMap()
+    {
+        final var map    = PersistentJsonMap.create();
+        final var expect = new LinkedHashMap<String, JsonElement>();
+
+        for (final var key : List.of("k", "AaAa", "BBBB", "name"))
+        {
+            map.insert(Pxth.of(key), new JsonPrimitive(key.length()));
+            expect.put(key, new JsonPrimitive(key.length()));
+        }
+
+        assertAll("persistent json map data equality",
+                  () -> assertEquals(expect, map.data()),
+                  () -> assertEquals(map.data(), expect),
+                  () -> assertEquals(expect.hashCode(), map.data().hashCode()),
+                  () -> assertEquals(expect.entrySet(), map.data().entrySet()),
+                  () -> assertEquals(map.data().entrySet(), expect.entrySet()));
+    }
+
+    @Test
+    void testNoLostUpdates() throws Exception
+    {
+        final var map   = PersistentJsonMap.create();
+        final var pool  = Executors.newFixedThreadPool(4);
+        final var start = new CountDownLatch(1);
+
+        try
+        {
+            final var tasks = new ArrayList<Future<?>>();
+
+            for (int t = 0; t < 4; t++)
+            {
+                final var thread = t;
+
+                tasks.add(pool.submit(() ->
+                {
+                    start.await();
+
+                    for (int i = 0; i < 1_000; i++)
+                    {
+                        map.insert(Pxth.of("section", "thread" + thread + "_" + i), new JsonPrimitive(i));
+
+                        // a single counter contended by every thread
+                        map.increment(Pxth.of("counter", "total"), 1);
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (final var task : tasks)
+            {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        assertEquals(4_000, map.select(Pxth.of("section")).getAsJsonObject().size());
+        assertEquals(4_000, map.selectLong(Pxth.of("counter.total"), 0L));
+    }
+
+}
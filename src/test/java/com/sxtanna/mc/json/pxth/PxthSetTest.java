@@ -0,0 +1,65 @@
+package com.sxtanna.mc.json.pxth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PxthSetTest
+{
+
+    @Test
+    void testPrefixMinimal()
+    {
+        final var set = new PxthSet();
+
+        assertAll("pxth set add",
+                  () -> assertTrue(set.add(Pxth.of("stats.kills"))),
+                  () -> assertTrue(set.add(Pxth.of("stats.deaths.pvp"))),
+                  () -> assertTrue(set.add(Pxth.of("name"))),
+                  () -> assertFalse(set.add(Pxth.of("name"))),
+                  () -> assertFalse(set.add(Pxth.of("name.first"))),
+                  () -> assertEquals(3, set.size()));
+
+        assertTrue(set.add(Pxth.of("stats")));
+
+        assertAll("pxth set collapse",
+                  () -> assertEquals(Set.of(Pxth.of("stats"), Pxth.of("name")), Set.copyOf(set)),
+                  () -> assertTrue(set.covers(Pxth.of("stats.kills"))),
+                  () -> assertFalse(set.contains(Pxth.of("stats.kills"))),
+                  () -> assertFalse(set.covers(Pxth.of("other"))));
+
+        assertTrue(set.add(Pxth.NONE));
+        assertEquals(List.of(Pxth.NONE), List.copyOf(set));
+        assertTrue(set.covers(Pxth.of("anything.at.all")));
+    }
+
+    @Test
+    void testRemoveAndOverlaps()
+    {
+        final var set = new PxthSet(List.of(Pxth.of("a.b.c"), Pxth.of("a.d")));
+
+        assertAll("pxth set overlaps",
+                  () -> assertTrue(set.overlaps(Pxth.of("a"))),
+                  () -> assertTrue(set.overlaps(Pxth.of("a.b.c.d"))),
+                  () -> assertFalse(set.overlaps(Pxth.of("a.e"))));
+
+        assertFalse(set.remove(Pxth.of("a.b")));
+        assertTrue(set.remove(Pxth.of("a.b.c")));
+
+        assertAll("pxth set remove",
+                  () -> assertEquals(1, set.size()),
+                  () -> assertFalse(set.overlaps(Pxth.of("a.b"))),
+                  () -> assertTrue(set.overlaps(Pxth.of("a"))));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.overlaps(Pxth.of("a")));
+    }
+
+}
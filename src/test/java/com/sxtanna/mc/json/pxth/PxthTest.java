@@ -2,6 +2,7 @@ package com.sxtanna.mc.json.pxth;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,6 +30,24 @@ class PxthTest
         assertIterableEquals(List.of("this", "is", "a", "path"), pxthSome.path());
     }
 
+    @Test
+    void testOfStringSplit()
+    {
+        assertSame(Pxth.NONE, Pxth.of("..."));
+
+        assertIterableEquals(List.of("", "a"), Pxth.of(".a").path());
+        assertIterableEquals(List.of("a", "", "b"), Pxth.of("a..b").path());
+        assertIterableEquals(List.of("a", "b"), Pxth.of("a.b..").path());
+        assertIterableEquals(List.of(" a "), Pxth.of(" a ").path());
+    }
+
+    @Test
+    void testOfStringInterned()
+    {
+        assertSame(Pxth.of("stats.kills"), Pxth.of("stats.kills"));
+        assertSame(Pxth.of("stats.kills"), Pxth.of(new String("stats.kills")));
+    }
+
     @Test
     void testOfStringArr()
     {
@@ -59,4 +78,37 @@ class PxthTest
         assertIterableEquals(List.of("this", "is", "a", "path"), pxthSome.path());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testNodes()
+    {
+        final var pxth = Pxth.of("array.0.name.-1.01");
+
+        assertEquals(5, pxth.size());
+
+        assertEquals(-1, pxth.node(0).index());
+        assertEquals(0, pxth.node(1).index());
+        assertEquals(-1, pxth.node(2).index());
+        assertEquals(-1, pxth.node(3).index());
+        assertEquals(1, pxth.node(4).index());
+
+        assertEquals(-1, Pxth.of("99999999999").node(0).index());
+        assertEquals(Integer.MAX_VALUE, Pxth.of("2147483647").node(0).index());
+    }
+
+    @Test
+    void testEquality()
+    {
+        assertEquals(Pxth.of("this.is.a.path"), Pxth.of("this", "is", "a", "path"));
+        assertEquals(Pxth.of("this.is.a.path").hashCode(), Pxth.of(List.of("this", "is", "a", "path")).hashCode());
+    }
+
+    @Test
+    void testOrder()
+    {
+        final var paths = new ArrayList<>(List.of(Pxth.of("b"), Pxth.of("a.c"), Pxth.of("a.b.c"), Pxth.of("a"), Pxth.NONE));
+        Collections.sort(paths);
+
+        assertIterableEquals(List.of(Pxth.NONE, Pxth.of("a"), Pxth.of("a.b.c"), Pxth.of("a.c"), Pxth.of("b")), paths);
+    }
+
+}